@@ -0,0 +1,292 @@
+package base;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.ParallelSuiteListener;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class AsyncTeardown {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("teardown.async", "true"));
+    private static final long QUIT_TIMEOUT_MS = Long.getLong("teardown.timeoutMs", 20_000L);
+    private static final long BARRIER_TIMEOUT_MS = Long.getLong("teardown.barrierTimeoutMs", 60_000L);
+    private static final Duration SESSION_DELETE_TIMEOUT = Duration.ofMillis(Long.getLong("teardown.sessionDeleteMs", 5_000L));
+
+    private static final AtomicInteger threadIds = new AtomicInteger();
+
+    // Bounded queue; when full the browser is killed instead of quit, so no test thread ever waits on quit()
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            Math.max(2, ParallelSuiteListener.getThreadCount()),
+            Math.max(2, ParallelSuiteListener.getThreadCount()),
+            30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(64),
+            runnable -> {
+                Thread thread = new Thread(runnable, "browser-teardown-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    // Each outstanding quit and how to end it by force if it never finishes
+    private static final Map<CompletableFuture<Void>, Runnable> pending = new ConcurrentHashMap<>();
+
+    // Only talks to driver services on localhost; the browser behind a session may already be gone
+    private static final HttpClient serviceClient = HttpClient.newBuilder()
+            .connectTimeout(SESSION_DELETE_TIMEOUT)
+            .build();
+
+    private static final AtomicLong quits = new AtomicLong();
+    private static final AtomicLong totalQuitMs = new AtomicLong();
+    private static final AtomicLong maxQuitMs = new AtomicLong();
+    private static final AtomicLong timedOut = new AtomicLong();
+    private static final AtomicLong forceKilled = new AtomicLong();
+    private static final AtomicLong overflowed = new AtomicLong();
+    private static final AtomicLong abandoned = new AtomicLong();
+    private static volatile long lastBarrierMs;
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+
+    public static void quit(WebDriver driver, String label) {
+        if (driver == null) {
+            return;
+        }
+        // Read while the session is alive; capabilities are cached client-side so this is not a round trip
+        submit(driver, label, BrowserProcess.of(driver));
+    }
+
+
+    // For sessions attached to a browser they do not own: never kill the process behind them
+    public static void detach(WebDriver driver, String label) {
+        if (driver == null) {
+            return;
+        }
+        submit(driver, label, BrowserProcess.NONE);
+    }
+
+
+    // Suite-end barrier: every handed-off quit has finished or its browser has been killed
+    public static void awaitCompletion() {
+        long start = System.currentTimeMillis();
+        long deadline = start + BARRIER_TIMEOUT_MS;
+
+        for (Map.Entry<CompletableFuture<Void>, Runnable> quit : List.copyOf(pending.entrySet())) {
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                quit.getKey().get(Math.max(1, remaining), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // Teardown threads are daemons: left running, the JVM would exit and orphan this browser
+                abandoned.incrementAndGet();
+                System.err.println("Teardown barrier gave up on a browser quit - killing it: " + e);
+                quit.getValue().run();
+            }
+        }
+
+        lastBarrierMs = System.currentTimeMillis() - start;
+        printStatistics();
+    }
+
+
+    public static void printStatistics() {
+        long count = quits.get();
+        double averageMs = count > 0 ? totalQuitMs.get() / (double) count : 0;
+
+        System.out.println("\nBROWSER TEARDOWN STATISTICS:");
+        System.out.println("   Mode: " + (ENABLED ? "async" : "inline") + " | Quits: " + count
+                + " | Avg Quit: " + String.format("%.1f", averageMs) + " ms | Max Quit: " + maxQuitMs.get() + " ms");
+        System.out.println("   Timed Out: " + timedOut.get() + " | Queue Full: " + overflowed.get() + " | Force Killed: " + forceKilled.get()
+                + " | Killed At Barrier: " + abandoned.get()
+                + " | Suite-End Barrier: " + lastBarrierMs + " ms | Still Pending: " + pending.size());
+    }
+
+
+    private static void submit(WebDriver driver, String label, BrowserProcess process) {
+        if (!ENABLED) {
+            quitNow(driver, label, process);
+            return;
+        }
+
+        CompletableFuture<Void> quit = new CompletableFuture<>();
+        Future<?> worker;
+        try {
+            worker = executor.submit(() -> {
+                // The timeout runs from when quit() starts, so time spent queued behind other quits does not count
+                quit.orTimeout(QUIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                try {
+                    quitNow(driver, label, process);
+                } finally {
+                    quit.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Every teardown thread is busy and the queue is full: end the browser without a quit() that could hang
+            overflowed.incrementAndGet();
+            System.err.println("Teardown queue full - killing browser for " + label + " instead of quitting it");
+            forceEnd(driver, label, process);
+            return;
+        }
+
+        AtomicBoolean ended = new AtomicBoolean();
+        Runnable forceEnd = () -> {
+            // The quit timeout and the suite-end barrier can both get here; only the first one acts
+            if (ended.compareAndSet(false, true)) {
+                // Frees the teardown thread stuck in quit() (or drops it if it never started) and the browser behind it
+                worker.cancel(true);
+                forceEnd(driver, label, process);
+                quit.complete(null);
+            }
+        };
+        CompletableFuture<Void> watched = quit
+                .exceptionally(error -> {
+                    if (error instanceof TimeoutException) {
+                        timedOut.incrementAndGet();
+                        System.err.println("quit() for " + label + " exceeded " + QUIT_TIMEOUT_MS + " ms - killing browser");
+                        forceEnd.run();
+                    }
+                    return null;
+                });
+
+        pending.put(watched, forceEnd);
+        watched.whenComplete((ignored, error) -> pending.remove(watched));
+    }
+
+    // What quit() would have done, without waiting on the browser: kill it, end its session, drop its registrations
+    private static void forceEnd(WebDriver driver, String label, BrowserProcess process) {
+        process.kill();
+        endSession(driver, label);
+        ProfileTemplates.release(driver);
+        BaseTest.forgetSession(driver);
+    }
+
+    // The driver service still holds a session for a killed browser (the shared chromedriver would keep it until
+    // suite end), so delete it over the wire with a short timeout; a per-session service is stopped afterwards
+    private static void endSession(WebDriver driver, String label) {
+        WebDriver unwrapped = driver;
+        while (unwrapped instanceof WrapsDriver) {
+            unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+        }
+        if (!(unwrapped instanceof RemoteWebDriver)) {
+            return;
+        }
+        RemoteWebDriver remote = (RemoteWebDriver) unwrapped;
+        if (remote.getSessionId() == null || !(remote.getCommandExecutor() instanceof HttpCommandExecutor)) {
+            return;
+        }
+
+        HttpCommandExecutor executor = (HttpCommandExecutor) remote.getCommandExecutor();
+        String server = executor.getAddressOfRemoteServer().toString().replaceAll("/+$", "");
+        HttpRequest delete = HttpRequest.newBuilder(URI.create(server + "/session/" + remote.getSessionId()))
+                .timeout(SESSION_DELETE_TIMEOUT)
+                .DELETE()
+                .build();
+        serviceClient.sendAsync(delete, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        System.err.println("Could not end the session for " + label + ": " + error.getMessage());
+                    }
+                    if (executor instanceof Closeable) {
+                        try {
+                            ((Closeable) executor).close();
+                        } catch (Exception e) {
+                            System.err.println("Could not stop the driver service for " + label + ": " + e.getMessage());
+                        }
+                    }
+                });
+    }
+
+    private static void quitNow(WebDriver driver, String label, BrowserProcess process) {
+        long start = System.currentTimeMillis();
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Error closing browser (" + label + "): " + e.getMessage());
+            process.kill();
+        } finally {
+            long elapsed = System.currentTimeMillis() - start;
+            quits.incrementAndGet();
+            totalQuitMs.addAndGet(elapsed);
+            maxQuitMs.accumulateAndGet(elapsed, Math::max);
+            ProfileTemplates.release(driver);
+            BaseTest.forgetSession(driver);
+        }
+    }
+
+
+    // Enough identity to find a hung browser: Firefox reports its pid, Chrome its user-data-dir
+    private static class BrowserProcess {
+
+        static final BrowserProcess NONE = new BrowserProcess(null, null);
+
+        private final Long pid;
+        private final String userDataDir;
+
+        private BrowserProcess(Long pid, String userDataDir) {
+            this.pid = pid;
+            this.userDataDir = userDataDir;
+        }
+
+        static BrowserProcess of(WebDriver driver) {
+            if (!(driver instanceof HasCapabilities)) {
+                return NONE;
+            }
+            try {
+                Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+                Object pid = capabilities.getCapability("moz:processID");
+                Object chrome = capabilities.getCapability("chrome");
+                Object userDataDir = chrome instanceof Map ? ((Map<?, ?>) chrome).get("userDataDir") : null;
+                return new BrowserProcess(pid instanceof Number ? ((Number) pid).longValue() : null,
+                        userDataDir != null ? userDataDir.toString() : null);
+            } catch (Exception e) {
+                return NONE;
+            }
+        }
+
+        void kill() {
+            List<ProcessHandle> browsers = new ArrayList<>();
+            if (pid != null) {
+                ProcessHandle.of(pid).ifPresent(browsers::add);
+            } else if (userDataDir != null) {
+                ProcessHandle.allProcesses()
+                        .filter(process -> process.info().commandLine()
+                                .map(line -> line.contains("--user-data-dir=" + userDataDir))
+                                .orElse(false))
+                        .forEach(browsers::add);
+            }
+
+            for (ProcessHandle process : browsers) {
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                if (process.destroyForcibly()) {
+                    forceKilled.incrementAndGet();
+                    System.err.println("Force-killed browser process " + process.pid());
+                }
+            }
+        }
+    }
+}
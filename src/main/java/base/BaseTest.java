@@ -1,34 +1,71 @@
 package base;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import locators.RelocatingElement;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Parameters;
+import pages.DashboardPage;
+import pages.LoginPage;
+import pages.Navigation;
+import utils.CommandMetrics;
+import utils.ElementReads;
+import utils.ExtentReportManager;
+import utils.FailureArtifacts;
+import utils.FastFill;
+import utils.HttpLoginClient;
+import utils.PageReadiness;
+import utils.SessionCache;
+import utils.TimedWait;
 import java.time.Duration;
 
 
 public class BaseTest {
 
+    public static final String BASE_URL = System.getProperty("app.baseUrl", "https://opensource-demo.orangehrmlive.com");
+    public static final String LOGIN_URL = BASE_URL + "/web/index.php/auth/login";
+    public static final String DASHBOARD_URL = BASE_URL + "/web/index.php/dashboard/index";
+    public static final String SESSION_LOGIN_MODE = System.getProperty("session.login.mode", "http");
+    public static final Duration IMPLICIT_WAIT = Duration.ofMillis(Long.getLong("wait.implicitMs", 10_000L));
+
     private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<DriverPool.PooledSession> sessionThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<BrowserContextManager.IsolatedContext> contextThreadLocal = new ThreadLocal<>();
     private static ThreadLocal<WebDriverWait> waitThreadLocal = new ThreadLocal<>();
 
-    protected WebDriver driver;
-    protected WebDriverWait wait;
-
     public static WebDriver getDriver() {
         return driverThreadLocal.get();
     }
 
+    public static SessionHealth getSessionHealth() {
+        return SessionHealth.of(getDriver());
+    }
+
+    // Every new session gets one decorator; each listener registers itself against the decorated driver it reports on
+    public static WebDriver instrument(WebDriver rawDriver) {
+        SessionHealth health = new SessionHealth();
+        CommandMetrics metrics = new CommandMetrics(rawDriver);
+        WebDriver decorated = new EventFiringDecorator<>(metrics, health).decorate(rawDriver);
+        SessionHealth.register(decorated, health);
+        CommandMetrics.register(decorated, metrics);
+        return decorated;
+    }
+
+    // Ends a session's registrations; afterQuit does the same, but never fires for a killed or abandoned session
+    public static void forgetSession(WebDriver driver) {
+        SessionHealth.forget(driver);
+        CommandMetrics.forget(driver);
+        Navigation.forget(driver);
+        SessionCache.forget(driver);
+    }
+
     public static WebDriverWait getWait() {
         WebDriverWait currentWait = waitThreadLocal.get();
         if (currentWait == null && getDriver() != null) {
-            currentWait = new WebDriverWait(getDriver(), Duration.ofSeconds(20));
+            currentWait = new TimedWait(getDriver(), Duration.ofSeconds(20));
             waitThreadLocal.set(currentWait);
         }
         return currentWait;
@@ -42,17 +79,38 @@ public class BaseTest {
         System.out.println("=".repeat(50));
 
         try {
-            WebDriver webDriver = initializeDriver(browser);
+            WebDriver webDriver;
+            boolean freshSession;
+
+            if (BrowserContextManager.isEnabledFor(browser)) {
+                BrowserContextManager.IsolatedContext context = BrowserContextManager.getInstance().open(() -> DriverFactory.create("chrome"));
+                contextThreadLocal.set(context);
+                webDriver = context.getDriver();
+                PageReadiness.installOnNewDocuments(webDriver);
+                FailureArtifacts.installConsoleCapture(webDriver);
+                BrowserProfile.current().applyTo(webDriver);
+                freshSession = true;
+            } else {
+                DriverPool.PooledSession session = DriverPool.getInstance().borrow(browser, () -> DriverFactory.create(browser));
+                sessionThreadLocal.set(session);
+                webDriver = session.getDriver();
+                freshSession = session.isFresh();
+            }
 
             driverThreadLocal.set(webDriver);
-            this.driver = webDriver;
 
-            WebDriverWait webDriverWait = new WebDriverWait(webDriver, Duration.ofSeconds(20));
+            WebDriverWait webDriverWait = new TimedWait(webDriver, Duration.ofSeconds(20));
             waitThreadLocal.set(webDriverWait);
-            this.wait = webDriverWait;
 
-            configureBrowser();
-            navigateToApplication();
+            if (freshSession) {
+                DriverFactory.prepare(webDriver);
+                DriverPool.PooledSession session = sessionThreadLocal.get();
+                if (session != null) {
+                    session.markPrepared();
+                }
+            } else {
+                System.out.println("Pooled session already prepared at: " + LOGIN_URL);
+            }
             verifyDriverSession();
 
             System.out.println("Browser setup completed successfully for: " + browser);
@@ -60,124 +118,71 @@ public class BaseTest {
         } catch (Exception e) {
             System.err.println("CRITICAL ERROR during browser setup: " + e.getMessage());
             e.printStackTrace();
+            discardSession();
             cleanupDriver();
             throw new RuntimeException("Failed to initialize browser: " + e.getMessage(), e);
         }
     }
 
-    private WebDriver initializeDriver(String browser) {
-        WebDriver webDriver;
-
-        switch (browser.toLowerCase()) {
-            case "chrome":
-                webDriver = initializeChromeDriver();
-                break;
-            case "firefox":
-                webDriver = initializeFirefoxDriver();
-                break;
-            default:
-                System.out.println("Browser not specified or invalid. Defaulting to Chrome.");
-                webDriver = initializeChromeDriver();
-                break;
-        }
-
-        return webDriver;
-    }
-
-    private WebDriver initializeChromeDriver() {
-        System.out.println("Initializing Chrome driver...");
-
+    private void verifyDriverSession() {
+        WebDriver driver = getDriver();
         try {
-            WebDriverManager.chromedriver().setup();
-
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--remote-allow-origins=*");
-            options.addArguments("--disable-blink-features=AutomationControlled");
-            options.addArguments("--disable-extensions");
-            options.addArguments("--no-sandbox");
-            options.addArguments("--disable-dev-shm-usage");
-            options.addArguments("--disable-gpu");
-            options.addArguments("--disable-web-security");
-            options.addArguments("--allow-running-insecure-content");
-
-            options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-            options.setExperimentalOption("useAutomationExtension", false);
-
-            WebDriver driver = new ChromeDriver(options);
-            System.out.println("Chrome driver initialized successfully");
-            return driver;
-
+            String currentUrl = driver.getCurrentUrl();
+            System.out.println("Driver session verified. Current URL: " + currentUrl);
         } catch (Exception e) {
-            System.err.println("Failed to initialize Chrome driver: " + e.getMessage());
-            throw new RuntimeException("Chrome driver initialization failed", e);
+            System.err.println("Driver session verification failed: " + e.getMessage());
+            throw new RuntimeException("Driver session is not active", e);
         }
     }
 
-    private WebDriver initializeFirefoxDriver() {
-        System.out.println("Initializing Firefox driver...");
-
-        try {
-            WebDriverManager.firefoxdriver().setup();
-
-            FirefoxOptions options = new FirefoxOptions();
-            options.addPreference("dom.webnotifications.enabled", false);
-            options.addPreference("dom.push.enabled", false);
-            options.addPreference("geo.enabled", false);
-            options.addPreference("dom.disable_beforeunload", true);
-
-            WebDriver driver = new FirefoxDriver(options);
-            System.out.println("Firefox driver initialized successfully");
-            return driver;
-
-        } catch (Exception e) {
-            System.err.println("Failed to initialize Firefox driver: " + e.getMessage());
-            throw new RuntimeException("Firefox driver initialization failed", e);
+    protected DashboardPage openDashboardAs(String username, String password) {
+        WebDriver driver = getDriver();
+        if (driver == null) {
+            throw new RuntimeException("WebDriver is null - setup may have failed");
         }
-    }
 
-    private void configureBrowser() {
-        try {
-            driver.manage().window().maximize();
-            System.out.println("Browser window maximized");
-
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
-
-            System.out.println("Timeouts configured: implicit(10s), pageLoad(30s), script(30s)");
-
-        } catch (Exception e) {
-            System.err.println("Error configuring browser: " + e.getMessage());
-            throw new RuntimeException("Browser configuration failed", e);
+        if ("http".equalsIgnoreCase(SESSION_LOGIN_MODE)) {
+            try {
+                SessionCache.openWithMinter(driver, username, DASHBOARD_URL, () -> SessionCache.SessionSnapshot.ofCookies(
+                        BASE_URL, HttpLoginClient.forBaseUrl(BASE_URL).mint(username, password)));
+                if (driver.getCurrentUrl().contains("/dashboard")) {
+                    return new DashboardPage(driver);
+                }
+                System.out.println("HTTP-minted session did not reach the dashboard - falling back to UI login");
+            } catch (Exception e) {
+                System.out.println("HTTP login failed - falling back to UI login: " + e.getMessage());
+            }
+            SessionCache.invalidate(username);
+            driver.get(LOGIN_URL);
         }
-    }
 
-    private void navigateToApplication() {
-        String url = "https://opensource-demo.orangehrmlive.com/web/index.php/auth/login";
-        System.out.println("Navigating to: " + url);
+        SessionCache.open(driver, username, DASHBOARD_URL, () -> new LoginPage(driver).loginAs(username, password));
 
-        try {
-            driver.get(url);
-            Thread.sleep(3000);
-            System.out.println("Successfully navigated to OrangeHRM login page");
+        return new DashboardPage(driver);
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Thread was interrupted during page load wait", e);
-        } catch (Exception e) {
-            System.err.println("Failed to navigate to application: " + e.getMessage());
-            throw new RuntimeException("Navigation failed", e);
+    // A session of this driver's own, never cached: logging it out cannot end the snapshot other workers restore
+    protected DashboardPage openFreshDashboardAs(String username, String password) {
+        WebDriver driver = getDriver();
+        if (driver == null) {
+            throw new RuntimeException("WebDriver is null - setup may have failed");
         }
-    }
 
-    private void verifyDriverSession() {
-        try {
-            String currentUrl = driver.getCurrentUrl();
-            System.out.println("Driver session verified. Current URL: " + currentUrl);
-        } catch (Exception e) {
-            System.err.println("Driver session verification failed: " + e.getMessage());
-            throw new RuntimeException("Driver session is not active", e);
+        if ("http".equalsIgnoreCase(SESSION_LOGIN_MODE)) {
+            try {
+                SessionCache.inject(driver, SessionCache.SessionSnapshot.ofCookies(
+                        BASE_URL, HttpLoginClient.forBaseUrl(BASE_URL).mint(username, password)), DASHBOARD_URL);
+                if (driver.getCurrentUrl().contains("/dashboard")) {
+                    return new DashboardPage(driver);
+                }
+                System.out.println("HTTP-minted session did not reach the dashboard - falling back to UI login");
+            } catch (Exception e) {
+                System.out.println("HTTP login failed - falling back to UI login: " + e.getMessage());
+            }
+            driver.get(LOGIN_URL);
         }
+
+        return new LoginPage(driver).loginAs(username, password);
     }
 
     @AfterMethod
@@ -192,16 +197,63 @@ public class BaseTest {
         System.out.println("-".repeat(30) + "\n");
     }
 
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        DriverPool.getInstance().shutdown();
+        BrowserContextManager.getInstance().shutdown();
+        AsyncTeardown.awaitCompletion();
+        DriverBinaryResolver.printStatistics();
+        BrowserProfile.printStatistics();
+        ProfileTemplates.printStatistics();
+        SessionHealth.printStatistics();
+        FastFill.printStatistics();
+        RelocatingElement.printStatistics();
+        ElementReads.printStatistics();
+        Navigation.printStatistics();
+        PageReadiness.printStatistics();
+        SessionCache.printStatistics();
+        HttpLoginClient.printAllStatistics();
+        FailureArtifacts.printStatistics();
+        CommandMetrics.publish();
+        ExtentReportManager.printStatistics();
+    }
+
+    private void discardSession() {
+        BrowserContextManager.IsolatedContext context = contextThreadLocal.get();
+        if (context != null) {
+            contextThreadLocal.remove();
+            driverThreadLocal.remove();
+            BrowserContextManager.getInstance().close(context);
+        }
+
+        DriverPool.PooledSession session = sessionThreadLocal.get();
+        if (session != null) {
+            sessionThreadLocal.remove();
+            driverThreadLocal.remove();
+            DriverPool.getInstance().discard(session);
+        }
+    }
+
     private void cleanupDriver() {
         try {
+            BrowserContextManager.IsolatedContext context = contextThreadLocal.get();
+            DriverPool.PooledSession session = sessionThreadLocal.get();
             WebDriver currentDriver = driverThreadLocal.get();
-            if (currentDriver != null) {
+            Navigation.forget(currentDriver);
+            SessionCache.forget(currentDriver);
+            if (context != null) {
+                BrowserContextManager.getInstance().close(context);
+                System.out.println("Isolated browser context disposed");
+            } else if (session != null) {
                 try {
-                    currentDriver.quit();
-                    System.out.println("Browser closed successfully");
+                    DriverPool.getInstance().release(session, LOGIN_URL);
+                    System.out.println("Browser returned to driver pool");
                 } catch (Exception e) {
-                    System.err.println("Error closing browser: " + e.getMessage());
+                    System.err.println("Error returning browser to pool: " + e.getMessage());
                 }
+            } else if (currentDriver != null) {
+                AsyncTeardown.quit(currentDriver, Thread.currentThread().getName());
+                System.out.println("Browser handed off for teardown");
             } else {
                 System.out.println("No driver to cleanup for current thread");
             }
@@ -210,9 +262,9 @@ public class BaseTest {
         } finally {
             try {
                 driverThreadLocal.remove();
+                sessionThreadLocal.remove();
+                contextThreadLocal.remove();
                 waitThreadLocal.remove();
-                driver = null;
-                wait = null;
             } catch (Exception e) {
                 System.err.println("Error clearing ThreadLocal variables: " + e.getMessage());
             }
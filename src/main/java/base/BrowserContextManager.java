@@ -0,0 +1,164 @@
+package base;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+
+public class BrowserContextManager {
+
+    public static final String ISOLATION_MODE = System.getProperty("driver.isolation", "process");
+
+    private static final BrowserContextManager INSTANCE = new BrowserContextManager();
+
+    private WebDriver hostDriver;
+    private String debuggerAddress;
+
+    private final AtomicLong contextsCreated = new AtomicLong();
+    private final AtomicLong createNanos = new AtomicLong();
+    private final AtomicLong disposeNanos = new AtomicLong();
+    private long hostStartMs;
+
+
+    public static BrowserContextManager getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabledFor(String browser) {
+        if (!"context".equalsIgnoreCase(ISOLATION_MODE)) {
+            return false;
+        }
+        if (!"chrome".equalsIgnoreCase(browser)) {
+            System.out.println("Context isolation is Chrome-only - " + browser + " uses a separate browser process");
+            return false;
+        }
+        return true;
+    }
+
+
+    public IsolatedContext open(Supplier<WebDriver> hostFactory) {
+        String address = ensureHost(hostFactory);
+        long start = System.nanoTime();
+
+        // Launch arguments do not apply when attaching, so the attach session only needs the address
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", address);
+        ChromiumDriver driver = DriverServiceManager.newChromeDriver(options);
+
+        try {
+            Map<String, Object> context = driver.executeCdpCommand("Target.createBrowserContext",
+                    Map.of("disposeOnDetach", false));
+            String contextId = (String) context.get("browserContextId");
+
+            Map<String, Object> target = driver.executeCdpCommand("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId));
+            String targetId = (String) target.get("targetId");
+
+            // chromedriver window handles are DevTools target ids
+            driver.switchTo().window(targetId);
+
+            long elapsed = System.nanoTime() - start;
+            contextsCreated.incrementAndGet();
+            createNanos.addAndGet(elapsed);
+            System.out.println("Isolated browser context " + contextId + " created in " + (elapsed / 1_000_000) + " ms");
+            return new IsolatedContext(BaseTest.instrument(driver), contextId);
+
+        } catch (RuntimeException e) {
+            try {
+                driver.quit();
+            } catch (Exception ignored) {
+                // The attach session is being abandoned anyway
+            }
+            throw new RuntimeException("Could not create isolated browser context", e);
+        }
+    }
+
+
+    public void close(IsolatedContext context) {
+        if (context == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            ((HasCdp) context.getDriver()).executeCdpCommand("Target.disposeBrowserContext",
+                    Map.of("browserContextId", context.getContextId()));
+        } catch (Exception e) {
+            System.err.println("Error disposing browser context " + context.getContextId() + ": " + e.getMessage());
+        }
+
+        // An attached session detaches on quit; the shared browser keeps running
+        AsyncTeardown.detach(context.getDriver(), "context " + context.getContextId());
+        disposeNanos.addAndGet(System.nanoTime() - start);
+    }
+
+
+    public synchronized void shutdown() {
+        if (hostDriver != null) {
+            AsyncTeardown.quit(hostDriver, "context host");
+            System.out.println("Shared context host browser handed off for teardown");
+            hostDriver = null;
+            debuggerAddress = null;
+        }
+
+        long count = contextsCreated.get();
+        if (count > 0) {
+            System.out.println("\nBROWSER CONTEXT STATISTICS:");
+            System.out.println("   Contexts: " + count + " | Host Startup: " + hostStartMs + " ms"
+                    + " | Avg Create: " + String.format("%.1f", createNanos.get() / (double) count / 1_000_000) + " ms"
+                    + " | Avg Dispose: " + String.format("%.1f", disposeNanos.get() / (double) count / 1_000_000) + " ms");
+        }
+    }
+
+
+    private synchronized String ensureHost(Supplier<WebDriver> hostFactory) {
+        if (hostDriver != null) {
+            return debuggerAddress;
+        }
+
+        long start = System.currentTimeMillis();
+        WebDriver host = hostFactory.get();
+        Capabilities capabilities = ((HasCapabilities) host).getCapabilities();
+        Object chromeOptions = capabilities.getCapability("goog:chromeOptions");
+        Object address = chromeOptions instanceof Map ? ((Map<?, ?>) chromeOptions).get("debuggerAddress") : null;
+
+        if (address == null) {
+            host.quit();
+            ProfileTemplates.release(host);
+            throw new RuntimeException("Chrome did not report a debuggerAddress - cannot share the browser");
+        }
+
+        hostDriver = host;
+        debuggerAddress = address.toString();
+        hostStartMs = System.currentTimeMillis() - start;
+        System.out.println("Shared Chrome host for isolated contexts started at " + debuggerAddress + " in " + hostStartMs + " ms");
+        return debuggerAddress;
+    }
+
+
+    public static class IsolatedContext {
+
+        private final WebDriver driver;
+        private final String contextId;
+
+        IsolatedContext(WebDriver driver, String contextId) {
+            this.driver = driver;
+            this.contextId = contextId;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public String getContextId() {
+            return contextId;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package base;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public enum BrowserProfile {
+
+    STANDARD(false, false),
+    HEADLESS(true, false),
+    LEAN(true, true);
+
+    private static final BrowserProfile CURRENT = valueOf(System.getProperty("browser.profile", "standard").toUpperCase());
+
+    private static final Dimension VIEWPORT = parseViewport(System.getProperty("browser.viewport", "1920x1080"));
+
+    // Images, fonts and the third-party hosts OrangeHRM pulls in; -Dbrowser.blockedUrls adds more patterns
+    private static final List<String> BLOCKED_URLS = blockedUrls();
+
+    // Navigation timing plus every resource the document fetched; cross-origin sizes read 0 without Timing-Allow-Origin
+    private static final String PAGE_LOAD_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (!nav || !nav.loadEventEnd) { return null; }"
+            + "var bytes = nav.transferSize || 0;"
+            + "performance.getEntriesByType('resource').forEach(function (r) { bytes += r.transferSize || 0; });"
+            + "return { loadMs: Math.round(nav.loadEventEnd - nav.startTime), bytes: bytes };";
+
+    private final boolean headless;
+    private final boolean blocking;
+
+    private final AtomicLong pageLoads = new AtomicLong();
+    private final AtomicLong totalLoadMs = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+
+    BrowserProfile(boolean headless, boolean blocking) {
+        this.headless = headless;
+        this.blocking = blocking;
+    }
+
+    public static BrowserProfile current() {
+        return CURRENT;
+    }
+
+
+    public void applyTo(ChromeOptions options) {
+        if (headless) {
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=" + VIEWPORT.getWidth() + "," + VIEWPORT.getHeight());
+        }
+        if (blocking) {
+            options.addArguments("--disable-remote-fonts");
+        }
+    }
+
+
+    public void applyTo(FirefoxOptions options) {
+        if (headless) {
+            options.addArguments("-headless");
+            options.addArguments("--width=" + VIEWPORT.getWidth());
+            options.addArguments("--height=" + VIEWPORT.getHeight());
+        }
+        if (blocking) {
+            // geckodriver has no request interception, so prefs cover images and fonts; third-party hosts still load
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+            options.addPreference("browser.display.use_document_fonts", 0);
+        }
+    }
+
+
+    public void applyTo(WebDriver driver) {
+        if (!blocking || !(driver instanceof HasCdp)) {
+            return;
+        }
+
+        try {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", BLOCKED_URLS));
+            System.out.println("Blocking " + BLOCKED_URLS.size() + " URL patterns for the " + name().toLowerCase() + " profile");
+        } catch (Exception e) {
+            System.err.println("Could not enable request blocking: " + e.getMessage());
+        }
+    }
+
+
+    public void configureWindow(WebDriver driver) {
+        if (headless) {
+            driver.manage().window().setSize(VIEWPORT);
+            System.out.println("Viewport fixed at " + VIEWPORT.getWidth() + "x" + VIEWPORT.getHeight());
+        } else {
+            driver.manage().window().maximize();
+            System.out.println("Browser window maximized");
+        }
+    }
+
+
+    public void recordPageLoad(WebDriver driver, String label) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(PAGE_LOAD_SCRIPT);
+            if (!(result instanceof Map)) {
+                return;
+            }
+            Map<?, ?> timing = (Map<?, ?>) result;
+            long loadMs = ((Number) timing.get("loadMs")).longValue();
+            long bytes = ((Number) timing.get("bytes")).longValue();
+
+            pageLoads.incrementAndGet();
+            totalLoadMs.addAndGet(loadMs);
+            totalBytes.addAndGet(bytes);
+            System.out.println("Page load (" + label + ", " + name().toLowerCase() + "): " + loadMs + " ms, "
+                    + (bytes / 1024) + " KB transferred");
+
+        } catch (Exception e) {
+            System.err.println("Could not read page load timing: " + e.getMessage());
+        }
+    }
+
+
+    public static void printStatistics() {
+        System.out.println("\nBROWSER PROFILE STATISTICS:");
+        for (BrowserProfile profile : values()) {
+            long count = profile.pageLoads.get();
+            if (count == 0 && profile != CURRENT) {
+                continue;
+            }
+            double averageMs = count > 0 ? profile.totalLoadMs.get() / (double) count : 0;
+            double averageKb = count > 0 ? profile.totalBytes.get() / (double) count / 1024 : 0;
+            System.out.println("   " + profile.name().toLowerCase() + ": Page Loads: " + count
+                    + " | Avg Load: " + String.format("%.1f", averageMs) + " ms"
+                    + " | Avg Transferred: " + String.format("%.1f", averageKb) + " KB");
+        }
+    }
+
+
+    private static Dimension parseViewport(String value) {
+        String[] parts = value.toLowerCase().split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("browser.viewport must look like 1920x1080, got: " + value);
+        }
+        return new Dimension(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+
+    private static List<String> blockedUrls() {
+        List<String> patterns = new ArrayList<>(Arrays.asList(
+                "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico",
+                "*.woff", "*.woff2", "*.ttf", "*.otf",
+                "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+                "*fonts.googleapis.com*", "*fonts.gstatic.com*"));
+
+        String extra = System.getProperty("browser.blockedUrls", "");
+        for (String pattern : extra.split(",")) {
+            if (!pattern.isBlank()) {
+                patterns.add(pattern.trim());
+            }
+        }
+        return patterns;
+    }
+}
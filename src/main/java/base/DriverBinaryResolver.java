@@ -0,0 +1,233 @@
+package base;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.online.HttpClient;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class DriverBinaryResolver {
+
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("driver.cache.dir",
+            Paths.get(System.getProperty("user.home"), ".cache", "orangehrm-automation", "drivers").toString()));
+    private static final boolean OFFLINE = Boolean.getBoolean("driver.offline");
+    // Catches browser updates the version probe cannot see, such as a browser it fails to detect
+    private static final long TTL_MS = TimeUnit.HOURS.toMillis(Long.getLong("driver.cache.ttlHours", 168L));
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    private static final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+    private static final AtomicLong lookups = new AtomicLong();
+    private static final AtomicLong lookupNanos = new AtomicLong();
+
+
+    public static String resolve(String browser) {
+        long start = System.nanoTime();
+        try {
+            return resolutions.computeIfAbsent(browser.toLowerCase(), DriverBinaryResolver::resolveOnce).path;
+        } finally {
+            lookups.incrementAndGet();
+            lookupNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+
+    public static void printStatistics() {
+        long count = lookups.get();
+        double averageMicros = count > 0 ? lookupNanos.get() / (double) count / 1_000 : 0;
+
+        System.out.println("\nDRIVER BINARY RESOLUTION:");
+        for (Map.Entry<String, Resolution> entry : resolutions.entrySet()) {
+            Resolution resolution = entry.getValue();
+            System.out.println("   " + entry.getKey() + ": " + resolution.path + " (" + resolution.source + ", "
+                    + resolution.elapsedMs + " ms)");
+        }
+        System.out.println("   Lookups: " + count + " | Avg Lookup: " + String.format("%.1f", averageMicros) + " µs");
+    }
+
+
+    private static Resolution resolveOnce(String browser) {
+        long start = System.currentTimeMillis();
+        String property = driverProperty(browser);
+
+        String explicit = System.getProperty(property);
+        if (explicit != null && Files.isExecutable(Paths.get(explicit))) {
+            return finish(browser, explicit, "system property", start);
+        }
+
+        // Records are per browser major version, so a self-updated browser never reuses the old driver
+        String record = browser + "-" + detectBrowserMajor(browser);
+        String cached = readCache(record);
+        if (cached != null) {
+            System.setProperty(property, cached);
+            return finish(browser, cached, "checksummed cache " + record, start);
+        }
+
+        if (OFFLINE) {
+            String onPath = findOnPath(executableName(browser));
+            if (onPath == null) {
+                throw new RuntimeException("Offline mode: no cached or PATH " + executableName(browser)
+                        + " found. Run once online or set -D" + property);
+            }
+            System.setProperty(property, onPath);
+            return finish(browser, onPath, "PATH", start);
+        }
+
+        WebDriverManager manager = "firefox".equals(browser) ? WebDriverManager.firefoxdriver() : WebDriverManager.chromedriver();
+        manager.setup();
+        String downloaded = manager.getDownloadedDriverPath();
+        if (downloaded == null) {
+            downloaded = System.getProperty(property);
+        }
+        if (downloaded == null) {
+            throw new RuntimeException("WebDriverManager did not resolve a " + browser + " driver binary");
+        }
+
+        System.setProperty(property, downloaded);
+        writeCache(record, downloaded);
+        return finish(browser, downloaded, "WebDriverManager", start);
+    }
+
+    private static Resolution finish(String browser, String path, String source, long start) {
+        Resolution resolution = new Resolution(path, source, System.currentTimeMillis() - start);
+        System.out.println("Resolved " + browser + " driver binary via " + source + " in " + resolution.elapsedMs + " ms: " + path);
+        return resolution;
+    }
+
+    private static String detectBrowserMajor(String browser) {
+        try {
+            WebDriverManager manager = "firefox".equals(browser) ? WebDriverManager.firefoxdriver() : WebDriverManager.chromedriver();
+            VersionDetector detector = new VersionDetector(manager.config(), new HttpClient(manager.config()));
+            return detector.getBrowserVersionFromTheShell(browser)
+                    .map(VersionDetector::getMajorVersion)
+                    .orElse(UNKNOWN_VERSION);
+        } catch (Exception e) {
+            System.err.println("Could not detect installed " + browser + " version: " + e.getMessage());
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private static String readCache(String key) {
+        Path record = CACHE_DIR.resolve(key + ".properties");
+        if (!Files.exists(record)) {
+            return null;
+        }
+
+        try (InputStream in = Files.newInputStream(record)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            String path = properties.getProperty("path");
+            String checksum = properties.getProperty("sha256");
+            long resolvedAt = Long.parseLong(properties.getProperty("resolvedAt", "0"));
+
+            if (path == null || checksum == null || !Files.isExecutable(Paths.get(path))) {
+                return null;
+            }
+            if (!OFFLINE && System.currentTimeMillis() - resolvedAt > TTL_MS) {
+                System.out.println("Cached " + key + " driver record is older than " + TimeUnit.MILLISECONDS.toHours(TTL_MS)
+                        + " h - resolving again");
+                return null;
+            }
+            if (!checksum.equals(sha256(Paths.get(path)))) {
+                System.out.println("Cached " + key + " driver checksum mismatch - resolving again");
+                return null;
+            }
+            return path;
+
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Could not read driver cache record: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeCache(String key, String path) {
+        try {
+            Files.createDirectories(CACHE_DIR);
+            Properties properties = new Properties();
+            properties.setProperty("path", path);
+            properties.setProperty("sha256", sha256(Paths.get(path)));
+            properties.setProperty("resolvedAt", String.valueOf(System.currentTimeMillis()));
+
+            Path temp = Files.createTempFile(CACHE_DIR, key, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Resolved " + key + " driver binary");
+            }
+            Files.move(temp, CACHE_DIR.resolve(key + ".properties"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            System.err.println("Could not write driver cache record: " + e.getMessage());
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = Files.newInputStream(file)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String findOnPath(String executable) {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        boolean windows = System.getProperty("os.name").toLowerCase().contains("win");
+        for (String directory : path.split(File.pathSeparator)) {
+            Path candidate = Paths.get(directory, windows ? executable + ".exe" : executable);
+            if (Files.isExecutable(candidate)) {
+                return candidate.toString();
+            }
+        }
+        return null;
+    }
+
+    private static String driverProperty(String browser) {
+        return "firefox".equals(browser) ? "webdriver.gecko.driver" : "webdriver.chrome.driver";
+    }
+
+    private static String executableName(String browser) {
+        return "firefox".equals(browser) ? "geckodriver" : "chromedriver";
+    }
+
+
+    private static class Resolution {
+
+        private final String path;
+        private final String source;
+        private final long elapsedMs;
+
+        Resolution(String path, String source, long elapsedMs) {
+            this.path = path;
+            this.source = source;
+            this.elapsedMs = elapsedMs;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package base;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import utils.FailureArtifacts;
+import utils.PageReadiness;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+
+public class DriverFactory {
+
+    public static WebDriver create(String browser) {
+        WebDriver webDriver;
+
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                webDriver = initializeChromeDriver();
+                break;
+            case "firefox":
+                webDriver = initializeFirefoxDriver();
+                break;
+            default:
+                System.out.println("Browser not specified or invalid. Defaulting to Chrome.");
+                webDriver = initializeChromeDriver();
+                break;
+        }
+
+        return webDriver;
+    }
+
+    // Timeouts, window and the login page: everything a brand-new session needs before a test can use it
+    public static void prepare(WebDriver driver) {
+        configureBrowser(driver);
+        navigateToApplication(driver);
+    }
+
+    private static WebDriver initializeChromeDriver() {
+        System.out.println("Initializing Chrome driver...");
+
+        try {
+            DriverBinaryResolver.resolve("chrome");
+
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--remote-allow-origins=*");
+            options.addArguments("--disable-blink-features=AutomationControlled");
+            options.addArguments("--disable-extensions");
+            options.addArguments("--no-sandbox");
+            options.addArguments("--disable-dev-shm-usage");
+            options.addArguments("--disable-gpu");
+            options.addArguments("--disable-web-security");
+            options.addArguments("--allow-running-insecure-content");
+
+            options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+            options.setExperimentalOption("useAutomationExtension", false);
+            BrowserProfile.current().applyTo(options);
+
+            Path userDataDir = ProfileTemplates.cloneFor("chrome");
+            if (userDataDir != null) {
+                options.addArguments("--user-data-dir=" + userDataDir);
+            }
+
+            WebDriver driver = BaseTest.instrument(DriverServiceManager.newChromeDriver(options));
+            ProfileTemplates.bind(driver, userDataDir);
+            PageReadiness.installOnNewDocuments(driver);
+            FailureArtifacts.installConsoleCapture(driver);
+            BrowserProfile.current().applyTo(driver);
+            System.out.println("Chrome driver initialized successfully");
+            return driver;
+
+        } catch (Exception e) {
+            System.err.println("Failed to initialize Chrome driver: " + e.getMessage());
+            throw new RuntimeException("Chrome driver initialization failed", e);
+        }
+    }
+
+    private static WebDriver initializeFirefoxDriver() {
+        System.out.println("Initializing Firefox driver...");
+
+        try {
+            DriverBinaryResolver.resolve("firefox");
+
+            FirefoxOptions options = new FirefoxOptions();
+            Path profileDir = ProfileTemplates.cloneFor("firefox");
+            if (profileDir != null) {
+                options.addArguments("-profile", profileDir.toString());
+            } else {
+                ProfileTemplates.FIREFOX_PREFS.forEach(options::addPreference);
+            }
+            BrowserProfile.current().applyTo(options);
+
+            WebDriver driver = BaseTest.instrument(
+                    new FirefoxDriver(DriverServiceManager.firefoxService(), options, DriverServiceManager.clientConfig()));
+            ProfileTemplates.bind(driver, profileDir);
+            System.out.println("Firefox driver initialized successfully");
+            return driver;
+
+        } catch (Exception e) {
+            System.err.println("Failed to initialize Firefox driver: " + e.getMessage());
+            throw new RuntimeException("Firefox driver initialization failed", e);
+        }
+    }
+
+    private static void configureBrowser(WebDriver driver) {
+        try {
+            BrowserProfile.current().configureWindow(driver);
+
+            driver.manage().timeouts().implicitlyWait(BaseTest.IMPLICIT_WAIT);
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
+
+            System.out.println("Timeouts configured: implicit(" + BaseTest.IMPLICIT_WAIT.toMillis() + "ms), pageLoad(30s), script(30s)");
+
+        } catch (Exception e) {
+            System.err.println("Error configuring browser: " + e.getMessage());
+            throw new RuntimeException("Browser configuration failed", e);
+        }
+    }
+
+    private static void navigateToApplication(WebDriver driver) {
+        String url = BaseTest.LOGIN_URL;
+        System.out.println("Navigating to: " + url);
+
+        try {
+            driver.get(url);
+            PageReadiness.waitForReady(driver, "login page");
+            BrowserProfile.current().recordPageLoad(driver, "login page");
+            System.out.println("Successfully navigated to OrangeHRM login page");
+
+        } catch (Exception e) {
+            System.err.println("Failed to navigate to application: " + e.getMessage());
+            throw new RuntimeException("Navigation failed", e);
+        }
+    }
+}
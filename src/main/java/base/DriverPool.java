@@ -0,0 +1,291 @@
+package base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.PageReadiness;
+import utils.ParallelSuiteListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+
+public class DriverPool {
+
+    private static final DriverPool INSTANCE = new DriverPool(
+            Integer.getInteger("driver.pool.size", ParallelSuiteListener.getThreadCount()),
+            Boolean.parseBoolean(System.getProperty("driver.pool.enabled", "true"))
+                    ? Integer.getInteger("driver.pool.maxUses", 25) : 1,
+            Long.getLong("driver.pool.borrowTimeoutMs", 120_000L));
+
+    private final int maxSize;
+    private final int maxUses;
+    private final long borrowTimeoutMs;
+
+    private final Map<String, ConcurrentLinkedDeque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final Object capacityLock = new Object();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong prewarmed = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong resetNanos = new AtomicLong();
+    private final AtomicLong maxResetNanos = new AtomicLong();
+
+
+    DriverPool(int maxSize, int maxUses, long borrowTimeoutMs) {
+        this.maxSize = Math.max(1, maxSize);
+        this.maxUses = Math.max(1, maxUses);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+
+    public PooledSession borrow(String browser, Supplier<WebDriver> factory) {
+        String key = browser.toLowerCase();
+        long deadline = System.currentTimeMillis() + borrowTimeoutMs;
+
+        while (true) {
+            PooledSession idle = idleFor(key).pollFirst();
+            if (idle != null) {
+                if (isHealthy(idle)) {
+                    idle.markBorrowed();
+                    hits.incrementAndGet();
+                    System.out.println("♻️  Reusing pooled " + key + " session (use " + idle.getUses() + "/" + maxUses + ")");
+                    return idle;
+                }
+                System.out.println("Pooled " + key + " session failed health check - recycling");
+                discard(idle);
+                continue;
+            }
+
+            if (tryReserveSlot() || evictIdleSessionOfOtherBrowser(key)) {
+                try {
+                    PooledSession created = new PooledSession(key, factory.get());
+                    created.markBorrowed();
+                    misses.incrementAndGet();
+                    return created;
+                } catch (RuntimeException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new RuntimeException("Timed out waiting for a free " + key + " session from the driver pool");
+            }
+
+            synchronized (capacityLock) {
+                try {
+                    capacityLock.wait(Math.min(remaining, 250));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for a pooled driver session", e);
+                }
+            }
+        }
+    }
+
+
+    // Launches a session ahead of demand and parks it idle; false when the pool has no free slot
+    public boolean prewarm(String browser, Supplier<WebDriver> factory) {
+        String key = browser.toLowerCase();
+        if (!tryReserveSlot()) {
+            return false;
+        }
+
+        try {
+            PooledSession session = new PooledSession(key, factory.get());
+            session.markPrepared();
+            idleFor(key).offerLast(session);
+            prewarmed.incrementAndGet();
+            signalCapacity();
+            return true;
+        } catch (RuntimeException e) {
+            releaseSlot();
+            throw e;
+        }
+    }
+
+
+    public void release(PooledSession session, String resetUrl) {
+        if (session == null) {
+            return;
+        }
+
+        if (session.getUses() >= maxUses) {
+            System.out.println("Session reached " + maxUses + " uses - recycling");
+            discard(session);
+            return;
+        }
+
+        if (!reset(session, resetUrl)) {
+            discard(session);
+            return;
+        }
+
+        idleFor(session.getBrowser()).offerFirst(session);
+        signalCapacity();
+    }
+
+
+    public void discard(PooledSession session) {
+        if (session == null) {
+            return;
+        }
+
+        try {
+            AsyncTeardown.quit(session.getDriver(), "pooled " + session.getBrowser());
+        } finally {
+            recycled.incrementAndGet();
+            releaseSlot();
+        }
+    }
+
+
+    public void shutdown() {
+        for (ConcurrentLinkedDeque<PooledSession> sessions : idleSessions.values()) {
+            PooledSession session;
+            while ((session = sessions.pollFirst()) != null) {
+                discard(session);
+            }
+        }
+        printStatistics();
+    }
+
+
+    public void printStatistics() {
+        long resetCount = resets.get();
+        double averageResetMs = resetCount > 0 ? resetNanos.get() / (double) resetCount / 1_000_000 : 0;
+
+        System.out.println("\nDRIVER POOL STATISTICS:");
+        System.out.println("   Pool Size: " + maxSize + " | Max Uses: " + maxUses);
+        System.out.println("   Hits: " + hits.get() + " | Misses: " + misses.get() + " | Recycled: " + recycled.get()
+                + " | Prewarmed: " + prewarmed.get());
+        System.out.println("   Resets: " + resetCount
+                + " | Avg Reset: " + String.format("%.1f", averageResetMs) + " ms"
+                + " | Max Reset: " + TimeUnit.NANOSECONDS.toMillis(maxResetNanos.get()) + " ms");
+    }
+
+
+    private boolean reset(PooledSession session, String resetUrl) {
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = session.getDriver();
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {}"
+                            + "try { window.sessionStorage.clear(); } catch (e) {}");
+            driver.get(resetUrl);
+            PageReadiness.waitForReady(driver, "pool reset");
+            return true;
+        } catch (Exception e) {
+            System.err.println("Session reset failed - recycling: " + e.getMessage());
+            return false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            resets.incrementAndGet();
+            resetNanos.addAndGet(elapsed);
+            maxResetNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        return SessionHealth.isAlive(session.getDriver());
+    }
+
+    private ConcurrentLinkedDeque<PooledSession> idleFor(String browser) {
+        return idleSessions.computeIfAbsent(browser, key -> new ConcurrentLinkedDeque<>());
+    }
+
+    private boolean tryReserveSlot() {
+        while (true) {
+            int current = liveSessions.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (liveSessions.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseSlot() {
+        liveSessions.decrementAndGet();
+        signalCapacity();
+    }
+
+    private boolean evictIdleSessionOfOtherBrowser(String browser) {
+        for (Map.Entry<String, ConcurrentLinkedDeque<PooledSession>> entry : idleSessions.entrySet()) {
+            if (entry.getKey().equals(browser)) {
+                continue;
+            }
+            PooledSession victim = entry.getValue().pollLast();
+            if (victim != null) {
+                AsyncTeardown.quit(victim.getDriver(), "evicted " + victim.getBrowser());
+                recycled.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void signalCapacity() {
+        synchronized (capacityLock) {
+            capacityLock.notifyAll();
+        }
+    }
+
+
+    public static class PooledSession {
+
+        private final String browser;
+        private final WebDriver driver;
+        private int uses;
+        private boolean prepared;
+
+        PooledSession(String browser, WebDriver driver) {
+            this.browser = browser;
+            this.driver = driver;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+
+        // A fresh session has not yet been configured and navigated to the application
+        public boolean isFresh() {
+            return !prepared;
+        }
+
+        void markBorrowed() {
+            uses++;
+        }
+
+        void markPrepared() {
+            prepared = true;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package base;
+
+import org.openqa.selenium.chrome.AddHasCasting;
+import org.openqa.selenium.chrome.AddHasCdp;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.CommandInfo;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class DriverServiceManager {
+
+    private static final boolean SHARED = Boolean.parseBoolean(System.getProperty("driver.service.shared", "true"));
+
+    private static final ClientConfig CLIENT_CONFIG = ClientConfig.defaultConfig()
+            .connectionTimeout(Duration.ofSeconds(10))
+            .readTimeout(Duration.ofSeconds(Long.getLong("driver.commandTimeoutSeconds", 180L)));
+
+    private static ChromeDriverService sharedChromeService;
+    private static long chromeServiceStartMs;
+
+    // One HTTP client per service URL, handed to every session on that service so keep-alive connections are reused
+    private static final Map<String, HttpClient> sharedClients = new ConcurrentHashMap<>();
+    private static final HttpClient.Factory SHARED_CLIENT_FACTORY = config -> sharedClients.computeIfAbsent(
+            config.baseUri().toString(), url -> new SharedHttpClient(HttpClient.Factory.createDefault().createClient(config)));
+
+    private static final AtomicLong chromeSessions = new AtomicLong();
+    private static final AtomicLong firefoxServices = new AtomicLong();
+
+
+    public static ClientConfig clientConfig() {
+        return CLIENT_CONFIG;
+    }
+
+
+    public static synchronized void start(String browser) {
+        if (!SHARED || !"chrome".equalsIgnoreCase(browser) || isChromeServiceRunning()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        String executable = DriverBinaryResolver.resolve("chrome");
+        sharedChromeService = new ChromeDriverService.Builder()
+                .usingDriverExecutable(new File(executable))
+                .usingAnyFreePort()
+                .build();
+        try {
+            sharedChromeService.start();
+        } catch (IOException e) {
+            sharedChromeService = null;
+            throw new RuntimeException("Could not start shared chromedriver service", e);
+        }
+        chromeServiceStartMs = System.currentTimeMillis() - start;
+        System.out.println("Shared chromedriver service started at " + sharedChromeService.getUrl()
+                + " in " + chromeServiceStartMs + " ms");
+    }
+
+
+    // Sessions on the shared service also share its HTTP client; ChromeDriver itself would build a new client per session
+    public static ChromiumDriver newChromeDriver(ChromeOptions options) {
+        if (!SHARED) {
+            return new ChromeDriver(ChromeDriverService.createDefaultService(), options, CLIENT_CONFIG);
+        }
+
+        start("chrome");
+        chromeSessions.incrementAndGet();
+        Map<String, CommandInfo> chromeCommands = new HashMap<>(new AddHasCdp().getAdditionalCommands());
+        chromeCommands.putAll(new AddHasCasting().getAdditionalCommands());
+        try {
+            ClientConfig config = CLIENT_CONFIG.baseUrl(sharedChromeService.getUrl());
+            return new SharedServiceChromeDriver(new HttpCommandExecutor(chromeCommands, config, SHARED_CLIENT_FACTORY), options);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Could not attach to shared chromedriver service", e);
+        }
+    }
+
+
+    public static GeckoDriverService firefoxService() {
+        // geckodriver serves exactly one session per process, so Firefox keeps a service per session
+        firefoxServices.incrementAndGet();
+        return GeckoDriverService.createDefaultService();
+    }
+
+
+    public static synchronized void stopAll() {
+        for (HttpClient client : sharedClients.values()) {
+            ((SharedHttpClient) client).delegate.close();
+        }
+        sharedClients.clear();
+
+        if (sharedChromeService != null) {
+            try {
+                sharedChromeService.stop();
+                System.out.println("Shared chromedriver service stopped");
+            } catch (Exception e) {
+                System.err.println("Error stopping shared chromedriver service: " + e.getMessage());
+            } finally {
+                sharedChromeService = null;
+            }
+        }
+
+        System.out.println("\nDRIVER SERVICE STATISTICS:");
+        System.out.println("   Shared chromedriver: " + (SHARED ? "enabled" : "disabled")
+                + " | Startup: " + chromeServiceStartMs + " ms | Sessions served: " + chromeSessions.get());
+        System.out.println("   Per-session geckodriver services: " + firefoxServices.get());
+    }
+
+
+    private static synchronized boolean isChromeServiceRunning() {
+        return sharedChromeService != null && sharedChromeService.isRunning();
+    }
+
+
+    // Same wiring ChromeDriver does internally, minus the per-session command executor and HTTP client
+    private static class SharedServiceChromeDriver extends ChromiumDriver {
+
+        SharedServiceChromeDriver(HttpCommandExecutor executor, ChromeOptions options) {
+            super(executor, options, ChromeOptions.CAPABILITY);
+            casting = new AddHasCasting().getImplementation(getCapabilities(), getExecuteMethod());
+            cdp = new AddHasCdp().getImplementation(getCapabilities(), getExecuteMethod());
+        }
+    }
+
+
+    // Sessions close their client on quit(); the shared one stays open until stopAll
+    private static class SharedHttpClient implements HttpClient {
+
+        private final HttpClient delegate;
+
+        SharedHttpClient(HttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return delegate.execute(request);
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+            return delegate.executeAsync(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return delegate.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // Shared across sessions
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package base;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+
+public class ProfileTemplates {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("browser.template.enabled", "true"));
+
+    // Preferences every Firefox session starts with; baked into the template's user.js when templates are on
+    public static final Map<String, Object> FIREFOX_PREFS = firefoxPrefs();
+
+    private static final Path RUN_DIR = defaultRoot().resolve("run-" + ProcessHandle.current().pid());
+
+    // Rewritten in place by geckodriver or the browser on every start, so never shared through a hard link
+    private static final Set<String> ALWAYS_COPIED = Set.of("user.js", "prefs.js", "Local State", "Preferences");
+    private static final byte[] SQLITE_HEADER = "SQLite format 3\0".getBytes(StandardCharsets.US_ASCII);
+    private static final Set<String> LOCK_FILES = Set.of("SingletonLock", "SingletonSocket", "SingletonCookie", "lock", ".parentlock", "parent.lock");
+
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Path> clonesByDriver = new ConcurrentHashMap<>();
+    private static final Map<String, Long> templateBuildMs = new ConcurrentHashMap<>();
+    private static final Map<String, Long> emptyProfileStartMs = new ConcurrentHashMap<>();
+    private static final Map<String, Long> templateStartMs = new ConcurrentHashMap<>();
+
+    private static volatile boolean hardLinksSupported = true;
+
+    private static final AtomicLong clones = new AtomicLong();
+    private static final AtomicLong cloneNanos = new AtomicLong();
+    private static final AtomicLong linkedFiles = new AtomicLong();
+    private static final AtomicLong copiedFiles = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteQuietly(RUN_DIR), "profile-template-cleanup"));
+    }
+
+
+    public static Path cloneFor(String browser) {
+        if (!ENABLED) {
+            return null;
+        }
+
+        try {
+            Template template = templates.computeIfAbsent(browser.toLowerCase(), ProfileTemplates::buildTemplate);
+            long start = System.nanoTime();
+            Path clone = Files.createTempDirectory(RUN_DIR, browser.toLowerCase() + "-");
+            cloneTree(template, clone);
+            clones.incrementAndGet();
+            cloneNanos.addAndGet(System.nanoTime() - start);
+            return clone;
+
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Could not clone " + browser + " profile template - browser creates its own: " + e.getMessage());
+            return null;
+        }
+    }
+
+
+    public static void bind(WebDriver driver, Path clone) {
+        if (driver != null && clone != null) {
+            clonesByDriver.put(driver, clone);
+        }
+    }
+
+
+    // Call after quit(): the browser process no longer holds the directory
+    public static void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        Path clone = clonesByDriver.remove(driver);
+        if (clone != null) {
+            deleteQuietly(clone);
+        }
+    }
+
+
+    public static void printStatistics() {
+        if (!ENABLED) {
+            return;
+        }
+        long count = clones.get();
+        double averageMs = count > 0 ? cloneNanos.get() / (double) count / 1_000_000 : 0;
+
+        System.out.println("\nPROFILE TEMPLATE STATISTICS:");
+        System.out.println("   Root: " + RUN_DIR + " | Templates: " + templateBuildMs
+                + " ms | Clones: " + count + " | Avg Clone: " + String.format("%.2f", averageMs) + " ms"
+                + " | Files Linked: " + linkedFiles.get() + " | Files Copied: " + copiedFiles.get());
+        for (String browser : templateStartMs.keySet()) {
+            System.out.println("   " + browser + " cold start: " + emptyProfileStartMs.get(browser) + " ms on an empty profile, "
+                    + templateStartMs.get(browser) + " ms on a template clone");
+        }
+    }
+
+
+    private static Template buildTemplate(String browser) {
+        long start = System.currentTimeMillis();
+        try {
+            Path path = RUN_DIR.resolve("template-" + browser);
+            Files.createDirectories(path);
+
+            if ("firefox".equals(browser)) {
+                writeFirefoxTemplate(path);
+            } else {
+                writeChromeTemplate(path);
+            }
+
+            Template template = new Template(path);
+            try {
+                bake(browser, template);
+            } catch (Exception e) {
+                // Still better than nothing: the seeded preferences skip part of the first-start work
+                System.err.println("Could not launch " + browser + " to fill its profile template - clones copy the seeded files only: "
+                        + e.getMessage());
+                template.copyAll = true;
+            }
+
+            long elapsed = System.currentTimeMillis() - start;
+            templateBuildMs.put(browser, elapsed);
+            System.out.println("Built " + browser + " profile template at " + path + " in " + elapsed + " ms"
+                    + (template.copyAll ? "" : " (" + template.copied.size() + " file(s) copied per clone, the rest hard-linked)"));
+            return template;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    // Lets the browser do its first-start work once, on the template, then finds the files it keeps writing in place
+    private static void bake(String browser, Template template) throws IOException {
+        long emptyStart = launchAndQuit(browser, template.path);
+        deleteLocks(template.path);
+
+        // A second start on a scratch copy shows which files every later start rewrites
+        Path probe = Files.createTempDirectory(RUN_DIR, browser + "-probe-");
+        try {
+            copyTree(template.path, probe);
+            Map<Path, BasicFileAttributes> before = fileAttributes(probe);
+            long templatedStart = launchAndQuit(browser, probe);
+            Map<Path, BasicFileAttributes> after = fileAttributes(probe);
+            before.forEach((file, original) -> {
+                if (writtenInPlace(original, after.get(file))) {
+                    template.copied.add(file);
+                }
+            });
+            emptyProfileStartMs.put(browser, emptyStart);
+            templateStartMs.put(browser, templatedStart);
+        } finally {
+            deleteQuietly(probe);
+        }
+
+        try (Stream<Path> files = Files.walk(template.path)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                Path relative = template.path.relativize(file);
+                if (ALWAYS_COPIED.contains(file.getFileName().toString()) || isSqlite(file)) {
+                    template.copied.add(relative);
+                }
+                if (!template.copied.contains(relative)) {
+                    // Shared by every clone, so a write the probe missed must fail loudly rather than leak across sessions
+                    file.toFile().setWritable(false, false);
+                }
+            }
+        }
+    }
+
+    private static long launchAndQuit(String browser, Path profile) {
+        long start = System.currentTimeMillis();
+        DriverBinaryResolver.resolve(browser);
+
+        WebDriver driver;
+        if ("firefox".equals(browser)) {
+            FirefoxOptions options = new FirefoxOptions();
+            options.addArguments("-headless", "-profile", profile.toString());
+            driver = new FirefoxDriver(GeckoDriverService.createDefaultService(), options);
+        } else {
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage", "--no-first-run",
+                    "--user-data-dir=" + profile);
+            driver = new ChromeDriver(ChromeDriverService.createDefaultService(), options);
+        }
+        try {
+            driver.get("about:blank");
+        } finally {
+            driver.quit();
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private static void writeFirefoxTemplate(Path template) throws IOException {
+        StringBuilder userJs = new StringBuilder();
+        for (Map.Entry<String, Object> pref : FIREFOX_PREFS.entrySet()) {
+            Object value = pref.getValue();
+            String literal = value instanceof String ? "\"" + value + "\"" : String.valueOf(value);
+            userJs.append("user_pref(\"").append(pref.getKey()).append("\", ").append(literal).append(");\n");
+        }
+        Files.writeString(template.resolve("user.js"), userJs.toString());
+    }
+
+    private static void writeChromeTemplate(Path template) throws IOException {
+        Map<String, Object> contentSettings = new LinkedHashMap<>();
+        contentSettings.put("notifications", 2);
+        contentSettings.put("geolocation", 2);
+
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("default_content_setting_values", contentSettings);
+        profile.put("password_manager_enabled", false);
+        profile.put("exit_type", "Normal");
+
+        Map<String, Object> preferences = new LinkedHashMap<>();
+        preferences.put("profile", profile);
+        preferences.put("credentials_enable_service", false);
+        preferences.put("browser", Map.of("check_default_browser", false));
+
+        Path defaultProfile = Files.createDirectories(template.resolve("Default"));
+        Files.writeString(defaultProfile.resolve("Preferences"), new Json().toJson(preferences));
+        // Sentinel that suppresses first-run UI and the work that goes with it
+        Files.writeString(template.resolve("First Run"), "");
+    }
+
+    private static Map<String, Object> firefoxPrefs() {
+        Map<String, Object> prefs = new LinkedHashMap<>();
+        prefs.put("dom.webnotifications.enabled", false);
+        prefs.put("dom.push.enabled", false);
+        prefs.put("geo.enabled", false);
+        prefs.put("dom.disable_beforeunload", true);
+        prefs.put("browser.shell.checkDefaultBrowser", false);
+        prefs.put("browser.startup.homepage_override.mstone", "ignore");
+        prefs.put("datareporting.policy.dataSubmissionEnabled", false);
+        prefs.put("toolkit.telemetry.reportingpolicy.firstRun", false);
+        prefs.put("app.update.auto", false);
+        return prefs;
+    }
+
+    private static Path defaultRoot() {
+        String configured = System.getProperty("browser.template.dir");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        // tmpfs keeps profile writes off the disk under parallel load
+        Path shm = Paths.get("/dev/shm");
+        if (Files.isDirectory(shm) && Files.isWritable(shm)) {
+            return shm.resolve("orangehrm-profiles");
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"), "orangehrm-profiles");
+    }
+
+    // Hard links for files the browser only reads or replaces by rename; real copies for files it writes in place
+    private static void cloneTree(Template template, Path target) throws IOException {
+        Path source = template.path;
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path relative = source.relativize(file);
+                Path destination = target.resolve(relative);
+                if (!template.copyAll && hardLinksSupported && !template.copied.contains(relative)) {
+                    try {
+                        Files.createLink(destination, file);
+                        linkedFiles.incrementAndGet();
+                        return FileVisitResult.CONTINUE;
+                    } catch (UnsupportedOperationException | IOException e) {
+                        System.out.println("Hard links unavailable under " + RUN_DIR + " - cloning profiles by copy: " + e.getMessage());
+                        hardLinksSupported = false;
+                    }
+                }
+                Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+                copiedFiles.incrementAndGet();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static Map<Path, BasicFileAttributes> fileAttributes(Path root) throws IOException {
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                attributes.put(root.relativize(file), Files.readAttributes(file, BasicFileAttributes.class));
+            }
+        }
+        return attributes;
+    }
+
+    // A file replaced by rename gets a new inode and leaves a hard-linked original untouched; only same-inode changes count
+    private static boolean writtenInPlace(BasicFileAttributes before, BasicFileAttributes after) {
+        if (after == null) {
+            return false;
+        }
+        boolean changed = before.size() != after.size() || !before.lastModifiedTime().equals(after.lastModifiedTime());
+        return changed && (before.fileKey() == null || before.fileKey().equals(after.fileKey()));
+    }
+
+    private static boolean isSqlite(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return Arrays.equals(in.readNBytes(SQLITE_HEADER.length), SQLITE_HEADER);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void deleteLocks(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (LOCK_FILES.contains(path.getFileName().toString())) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void deleteQuietly(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // Browser may still be flushing; the run directory is removed at JVM exit
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Could not remove profile directory " + root + ": " + e.getMessage());
+        }
+    }
+
+
+    private static class Template {
+
+        private final Path path;
+        // Relative paths cloned by copy; everything else is hard-linked
+        private final Set<Path> copied = new HashSet<>();
+        private boolean copyAll;
+
+        Template(Path path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package base;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class SessionHealth implements WebDriverListener {
+
+    private static final long IDLE_PROBE_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("session.health.idleProbeMs", 30_000L));
+
+    // Identity keys: decorated drivers are proxies, so equals/hashCode would be remote-looking calls
+    private static final Map<WebDriver, SessionHealth> tracked = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final AtomicLong checks = new AtomicLong();
+    private static final AtomicLong probes = new AtomicLong();
+    private static final AtomicLong deaths = new AtomicLong();
+
+    private WebDriver driver;
+    private volatile boolean dead;
+    private volatile String causeOfDeath;
+    private volatile long lastActivityNanos = System.nanoTime();
+
+
+    // Installed by BaseTest.instrument on the decorated driver every command of the session goes through
+    public static void register(WebDriver decoratedDriver, SessionHealth health) {
+        if (decoratedDriver != null && health != null) {
+            health.driver = decoratedDriver;
+            tracked.put(decoratedDriver, health);
+        }
+    }
+
+    public static void forget(WebDriver driver) {
+        if (driver != null) {
+            tracked.remove(driver);
+        }
+    }
+
+    public static SessionHealth of(WebDriver driver) {
+        return driver == null ? null : tracked.get(driver);
+    }
+
+
+    // Cheap liveness: trusts recent command traffic and only probes the browser after a quiet period
+    public static boolean isAlive(WebDriver driver) {
+        if (driver == null) {
+            return false;
+        }
+        SessionHealth health = of(driver);
+        if (health != null) {
+            return health.isAlive();
+        }
+
+        try {
+            probes.incrementAndGet();
+            return driver.getWindowHandle() != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+
+    public boolean isAlive() {
+        checks.incrementAndGet();
+        if (dead) {
+            return false;
+        }
+        if (System.nanoTime() - lastActivityNanos < IDLE_PROBE_NANOS) {
+            return true;
+        }
+
+        try {
+            probes.incrementAndGet();
+            driver.getWindowHandle();
+        } catch (Exception ignored) {
+            // onError has already recorded a lost session; other failures leave the browser usable
+        }
+        return !dead;
+    }
+
+    public String getCauseOfDeath() {
+        return causeOfDeath;
+    }
+
+
+    public static void printStatistics() {
+        long checkCount = checks.get();
+        System.out.println("\nSESSION HEALTH STATISTICS:");
+        System.out.println("   Liveness Checks: " + checkCount + " | Active Probes: " + probes.get()
+                + " | Round Trips Saved: " + Math.max(0, checkCount - probes.get())
+                + " | Sessions Lost: " + deaths.get());
+    }
+
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        lastActivityNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Throwable cause = e.getTargetException();
+        if (isSessionLoss(cause)) {
+            markDead(method.getName() + ": " + cause.getClass().getSimpleName());
+        } else {
+            // The browser answered, even if with an error
+            lastActivityNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuit(WebDriver driver) {
+        markDead("quit");
+        tracked.remove(this.driver);
+    }
+
+
+    private void markDead(String cause) {
+        if (!dead) {
+            dead = true;
+            causeOfDeath = cause;
+            if (!"quit".equals(cause)) {
+                deaths.incrementAndGet();
+                System.err.println("WebDriver session lost (" + cause + ")");
+            }
+        }
+    }
+
+    private static boolean isSessionLoss(Throwable error) {
+        if (error instanceof NoSuchSessionException
+                || error instanceof SessionNotCreatedException
+                || error instanceof UnreachableBrowserException) {
+            return true;
+        }
+        String message = error instanceof WebDriverException ? error.getMessage() : null;
+        return message != null && (message.contains("invalid session id")
+                || message.contains("session deleted")
+                || message.contains("browser has closed")
+                || message.contains("not reachable"));
+    }
+}
@@ -0,0 +1,24 @@
+package locators;
+
+import org.openqa.selenium.support.How;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * The single declaration of an element locator. Methods may return {@code WebElement} or
+ * {@code List<WebElement>}; cached single elements are resolved lazily and re-located when stale.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface Locate {
+
+    How how();
+
+    String using();
+
+    boolean cache() default true;
+}
@@ -0,0 +1,17 @@
+package locators;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks an interface whose {@link Locate} methods describe a page's elements.
+ * The build generates a matching {@code *Elements} class (LoginPageLocators -> LoginPageElements)
+ * holding a {@code By} constant per element and an accessor implementation, so no reflection runs at runtime.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface PageLocators {
+}
@@ -0,0 +1,195 @@
+package locators;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+// A lazily found element handle that keeps its remote reference and re-finds it once if the DOM replaced it
+public class RelocatingElement implements WebElement, WrapsElement {
+
+    private static final AtomicLong lookups = new AtomicLong();
+    private static final AtomicLong reuses = new AtomicLong();
+    private static final AtomicLong relocations = new AtomicLong();
+
+    private final SearchContext context;
+    private final By locator;
+    private volatile WebElement element;
+
+
+    public RelocatingElement(SearchContext context, By locator) {
+        this.context = context;
+        this.locator = locator;
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+
+    public static void printStatistics() {
+        System.out.println("\nGENERATED ELEMENT STATISTICS:");
+        System.out.println("   Lookups: " + lookups.get() + " | Reused Handles: " + reuses.get()
+                + " | Stale Re-locations: " + relocations.get());
+    }
+
+
+    @Override
+    public WebElement getWrappedElement() {
+        WebElement current = element;
+        if (current == null) {
+            lookups.incrementAndGet();
+            current = context.findElement(locator);
+            element = current;
+        } else {
+            reuses.incrementAndGet();
+        }
+        return current;
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(getWrappedElement());
+        } catch (StaleElementReferenceException e) {
+            relocations.incrementAndGet();
+            element = null;
+            return action.apply(getWrappedElement());
+        }
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(el -> {
+            action.accept(el);
+            return null;
+        });
+    }
+
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(el -> el.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(el -> el.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(el -> el.getDomAttribute(name));
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String getAttribute(String name) {
+        return call(el -> el.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(el -> el.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(el -> el.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(el -> el.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return call(el -> el.getScreenshotAs(target));
+    }
+
+    @Override
+    public String toString() {
+        return "RelocatingElement(" + locator + ")";
+    }
+}
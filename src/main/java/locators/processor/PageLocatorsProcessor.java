@@ -0,0 +1,215 @@
+package locators.processor;
+
+import locators.Locate;
+import locators.PageLocators;
+import org.openqa.selenium.support.How;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+
+// Generates <Page>Elements for every @PageLocators interface: By constants plus accessor implementations
+@SupportedAnnotationTypes("locators.PageLocators")
+public class PageLocatorsProcessor extends AbstractProcessor {
+
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String WEB_ELEMENT_LIST = "java.util.List<org.openqa.selenium.WebElement>";
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(PageLocators.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                error(element, "@PageLocators can only be placed on an interface");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<LocatorMethod> methods = collect(type);
+            if (methods != null) {
+                write(type, methods);
+            }
+        }
+        return true;
+    }
+
+
+    private List<LocatorMethod> collect(TypeElement type) {
+        List<LocatorMethod> methods = new ArrayList<>();
+        boolean valid = true;
+
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) member;
+            Locate locate = method.getAnnotation(Locate.class);
+
+            if (locate == null) {
+                error(method, "Every abstract method of a @PageLocators interface needs @Locate");
+                valid = false;
+                continue;
+            }
+            if (!method.getParameters().isEmpty()) {
+                error(method, "@Locate methods take no parameters");
+                valid = false;
+                continue;
+            }
+
+            TypeMirror returnType = method.getReturnType();
+            boolean list = WEB_ELEMENT_LIST.equals(returnType.toString());
+            if (!list && !WEB_ELEMENT.equals(returnType.toString())) {
+                error(method, "@Locate methods must return WebElement or List<WebElement>");
+                valid = false;
+                continue;
+            }
+
+            String byExpression = byExpression(locate.how(), locate.using());
+            if (byExpression == null) {
+                error(method, "Unsupported How." + locate.how() + " - use ID, NAME, XPATH, CSS, CLASS_NAME, TAG_NAME, LINK_TEXT or PARTIAL_LINK_TEXT");
+                valid = false;
+                continue;
+            }
+
+            methods.add(new LocatorMethod(method.getSimpleName().toString(), byExpression, list, locate.cache() && !list));
+        }
+
+        return valid ? methods : null;
+    }
+
+    private void write(TypeElement type, List<LocatorMethod> methods) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String interfaceName = type.getSimpleName().toString();
+        String className = (interfaceName.endsWith("Locators")
+                ? interfaceName.substring(0, interfaceName.length() - "Locators".length())
+                : interfaceName) + "Elements";
+
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("import locators.RelocatingElement;\n");
+        src.append("import org.openqa.selenium.By;\n");
+        src.append("import org.openqa.selenium.WebDriver;\n");
+        src.append("import org.openqa.selenium.WebElement;\n\n");
+        src.append("import javax.annotation.processing.Generated;\n");
+        if (methods.stream().anyMatch(method -> method.list)) {
+            src.append("import java.util.List;\n");
+        }
+        src.append("\n\n");
+        src.append("@Generated(\"").append(PageLocatorsProcessor.class.getName()).append("\")\n");
+        src.append("public final class ").append(className).append(" implements ").append(interfaceName).append(" {\n\n");
+
+        for (LocatorMethod method : methods) {
+            src.append("    public static final By ").append(constantName(method.name)).append(" = ")
+                    .append(method.byExpression).append(";\n");
+        }
+        src.append("\n    private final WebDriver driver;\n");
+        for (LocatorMethod method : methods) {
+            if (method.cached) {
+                src.append("    private final RelocatingElement ").append(method.name).append(";\n");
+            }
+        }
+
+        src.append("\n\n    public ").append(className).append("(WebDriver driver) {\n");
+        src.append("        this.driver = driver;\n");
+        for (LocatorMethod method : methods) {
+            if (method.cached) {
+                src.append("        this.").append(method.name).append(" = new RelocatingElement(driver, ")
+                        .append(constantName(method.name)).append(");\n");
+            }
+        }
+        src.append("    }\n");
+
+        for (LocatorMethod method : methods) {
+            src.append("\n    @Override\n");
+            if (method.list) {
+                src.append("    public List<WebElement> ").append(method.name).append("() {\n");
+                src.append("        return driver.findElements(").append(constantName(method.name)).append(");\n");
+            } else {
+                src.append("    public WebElement ").append(method.name).append("() {\n");
+                src.append(method.cached
+                        ? "        return " + method.name + ";\n"
+                        : "        return driver.findElement(" + constantName(method.name) + ");\n");
+            }
+            src.append("    }\n");
+        }
+        src.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(src.toString());
+        } catch (IOException e) {
+            error(type, "Could not write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+
+    private static String byExpression(How how, String using) {
+        String literal = "\"" + using.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        switch (how) {
+            case ID:
+                return "By.id(" + literal + ")";
+            case NAME:
+                return "By.name(" + literal + ")";
+            case XPATH:
+                return "By.xpath(" + literal + ")";
+            case CSS:
+                return "By.cssSelector(" + literal + ")";
+            case CLASS_NAME:
+                return "By.className(" + literal + ")";
+            case TAG_NAME:
+                return "By.tagName(" + literal + ")";
+            case LINK_TEXT:
+                return "By.linkText(" + literal + ")";
+            case PARTIAL_LINK_TEXT:
+                return "By.partialLinkText(" + literal + ")";
+            default:
+                return null;
+        }
+    }
+
+    private static String constantName(String methodName) {
+        return methodName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+
+    private static class LocatorMethod {
+
+        private final String name;
+        private final String byExpression;
+        private final boolean list;
+        private final boolean cached;
+
+        LocatorMethod(String name, String byExpression, boolean list, boolean cached) {
+            this.name = name;
+            this.byExpression = byExpression;
+            this.list = list;
+            this.cached = cached;
+        }
+    }
+}
@@ -2,33 +2,35 @@ package pages;
 
 
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import utils.AbsenceCheck;
+import utils.CommandMetrics;
+import utils.ElementReads;
+import utils.MutationWait;
+import utils.PageReadiness;
+import utils.SessionCache;
+import utils.TimedWait;
+
+import java.time.Duration;
 
 public class DashboardPage {
 
     private WebDriver driver;
 
+    // Generated from DashboardPageLocators; handles are found on first use and re-found if stale
+    private final DashboardPageElements elements;
 
 
-    @FindBy(xpath = "//h6[@class='oxd-text oxd-text--h6 oxd-topbar-header-breadcrumb-module']")
-    private WebElement dashboardHeader;
-
-
-    @FindBy(xpath = "//p[@class='oxd-userdropdown-name']")
-    private WebElement userDropdown;
-
-    @FindBy(xpath = "//a[text()='Logout']")
-    private WebElement logoutLink;
+    private final By dashboardHeaderLocator = DashboardPageElements.DASHBOARD_HEADER;
 
 
     public DashboardPage(WebDriver driver) {
         this.driver = driver;
+        CommandMetrics.onPage(driver, "DashboardPage");
 
 
-        PageFactory.initElements(driver, this);
+        this.elements = new DashboardPageElements(driver);
 
         System.out.println("📊 DashboardPage object created and elements initialized");
     }
@@ -38,7 +40,12 @@ public class DashboardPage {
     public boolean isDashboardDisplayed() {
         try {
 
-            boolean displayed = dashboardHeader.isDisplayed();
+            if (AbsenceCheck.isProbablyAbsent(driver, dashboardHeaderLocator)) {
+                System.out.println("Dashboard not displayed - Login may have failed");
+                return false;
+            }
+
+            boolean displayed = ElementReads.isDisplayed(driver, dashboardHeaderLocator);
 
             if (displayed) {
                 System.out.println("Dashboard is displayed - Login successful!");
@@ -56,9 +63,19 @@ public class DashboardPage {
     }
 
 
+    public boolean isDashboardAbsent() {
+        try {
+            return AbsenceCheck.isProbablyAbsent(driver, dashboardHeaderLocator);
+        } catch (Exception e) {
+            System.out.println("Could not check dashboard absence: " + e.getMessage());
+            return false;
+        }
+    }
+
+
     public String getDashboardTitle() {
         try {
-            String title = dashboardHeader.getText();  // Get header text
+            String title = ElementReads.getText(driver, dashboardHeaderLocator);  // Get header text in one round trip
             System.out.println("Dashboard title: " + title);
             return title;
         } catch (Exception e) {
@@ -68,32 +85,41 @@ public class DashboardPage {
     }
 
 
-    public void logout() {
+    // Transition: dashboard -> login page, verified once here so LoginPage skips its own load wait
+    public LoginPage logout() {
         try {
             System.out.println("Starting logout process...");
 
 
-            userDropdown.click();
+            elements.userDropdown().click();
             System.out.println("Clicked on user dropdown");
 
 
-            Thread.sleep(1000);
+            PageReadiness.waitForReady(driver, "user menu");
 
 
-            logoutLink.click();
+            elements.logoutLink().click();
             System.out.println("Clicked on logout link");
+            SessionCache.invalidateFor(driver);
+
+
+            new TimedWait(driver, Duration.ofSeconds(15))
+                    .until(MutationWait.visibilityOfElementLocated(LoginPageElements.USERNAME));
+            Navigation.markVerified(driver, LoginPage.class);
 
             System.out.println("Logout process completed");
+            return new LoginPage(driver);
 
         } catch (Exception e) {
             System.out.println("Logout failed: " + e.getMessage());
+            throw new RuntimeException("Logout failed", e);
         }
     }
 
     public boolean isUserLoggedIn() {
         try {
 
-            boolean loggedIn = userDropdown.isDisplayed();
+            boolean loggedIn = ElementReads.isDisplayed(driver, DashboardPageElements.USER_DROPDOWN);
 
             if (loggedIn) {
                 System.out.println("User appears to be logged in");
@@ -0,0 +1,20 @@
+package pages;
+
+import locators.Locate;
+import locators.PageLocators;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.How;
+
+
+@PageLocators
+public interface DashboardPageLocators {
+
+    @Locate(how = How.XPATH, using = "//h6[@class='oxd-text oxd-text--h6 oxd-topbar-header-breadcrumb-module']")
+    WebElement dashboardHeader();
+
+    @Locate(how = How.XPATH, using = "//p[@class='oxd-userdropdown-name']")
+    WebElement userDropdown();
+
+    @Locate(how = How.XPATH, using = "//a[text()='Logout']")
+    WebElement logoutLink();
+}
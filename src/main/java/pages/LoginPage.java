@@ -2,12 +2,16 @@ package pages;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.AbsenceCheck;
+import utils.CommandMetrics;
+import utils.FastFill;
+import utils.MutationWait;
 import org.openqa.selenium.By;
 import base.BaseTest;
+import base.SessionHealth;
+import utils.PageReadiness;
+import utils.TimedWait;
 import java.time.Duration;
 
 
@@ -15,36 +19,26 @@ public class LoginPage {
 
     private WebDriver driver;
     private WebDriverWait wait;
+    private LoginPageElements elements;
 
 
-    @FindBy(name = "username")
-    private WebElement usernameField;
-
-    @FindBy(name = "password")
-    private WebElement passwordField;
-
-    @FindBy(xpath = "//button[@type='submit']")
-    private WebElement loginButton;
-
-    @FindBy(xpath = "//p[@class='oxd-text oxd-text--p oxd-alert-content-text']")
-    private WebElement errorMessage;
-
-
-    private final By usernameLocator = By.name("username");
-    private final By passwordLocator = By.name("password");
-    private final By loginButtonLocator = By.xpath("//button[@type='submit']");
-    private final By errorMessageLocator = By.xpath("//p[@class='oxd-text oxd-text--p oxd-alert-content-text']");
+    // Declared once in LoginPageLocators; LoginPageElements is generated at compile time
+    private final By usernameLocator = LoginPageElements.USERNAME;
+    private final By passwordLocator = LoginPageElements.PASSWORD;
+    private final By loginButtonLocator = LoginPageElements.LOGIN_BUTTON;
+    private final By errorMessageLocator = LoginPageElements.ERROR_MESSAGE;
 
     public LoginPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = new TimedWait(driver, Duration.ofSeconds(15));
+        CommandMetrics.onPage(driver, "LoginPage");
 
 
         if (!isDriverSessionValid()) {
             throw new RuntimeException("Invalid WebDriver session provided to LoginPage");
         }
 
-        PageFactory.initElements(driver, this);
+        this.elements = new LoginPageElements(driver);
 
 
         waitForPageToLoad();
@@ -61,8 +55,8 @@ public class LoginPage {
             }
 
 
-            String currentUrl = driver.getCurrentUrl();
-            return currentUrl != null;
+            // Answered from recent command traffic; only probes the browser after an idle period
+            return SessionHealth.isAlive(driver);
 
         } catch (Exception e) {
             System.err.println("WebDriver session validation failed: " + e.getMessage());
@@ -74,12 +68,17 @@ public class LoginPage {
     private void waitForPageToLoad() {
         try {
 
+            if (Navigation.isVerified(driver, LoginPage.class)) {
+                return;
+            }
+
             if (!isDriverSessionValid()) {
                 throw new RuntimeException("WebDriver session is invalid");
             }
 
 
-            wait.until(ExpectedConditions.visibilityOfElementLocated(usernameLocator));
+            wait.until(MutationWait.visibilityOfElementLocated(usernameLocator));
+            Navigation.markVerified(driver, LoginPage.class);
             System.out.println("Login page loaded successfully");
 
         } catch (Exception e) {
@@ -95,6 +94,7 @@ public class LoginPage {
                 // Try to get fresh driver from BaseTest
                 this.driver = BaseTest.getDriver();
                 this.wait = BaseTest.getWait();
+                this.elements = new LoginPageElements(driver);
 
                 if (driver == null) {
                     throw new RuntimeException("Unable to obtain valid WebDriver session");
@@ -102,7 +102,7 @@ public class LoginPage {
             }
 
 
-            WebElement usernameElement = wait.until(ExpectedConditions.elementToBeClickable(usernameLocator));
+            WebElement usernameElement = wait.until(MutationWait.elementToBeClickable(usernameLocator));
 
 
             usernameElement.clear();
@@ -128,6 +128,7 @@ public class LoginPage {
             if (!isDriverSessionValid()) {
                 this.driver = BaseTest.getDriver();
                 this.wait = BaseTest.getWait();
+                this.elements = new LoginPageElements(driver);
 
                 if (driver == null) {
                     throw new RuntimeException("Unable to obtain valid WebDriver session");
@@ -135,7 +136,7 @@ public class LoginPage {
             }
 
 
-            WebElement passwordElement = wait.until(ExpectedConditions.elementToBeClickable(passwordLocator));
+            WebElement passwordElement = wait.until(MutationWait.elementToBeClickable(passwordLocator));
 
 
             passwordElement.clear();
@@ -155,6 +156,7 @@ public class LoginPage {
             if (!isDriverSessionValid()) {
                 this.driver = BaseTest.getDriver();
                 this.wait = BaseTest.getWait();
+                this.elements = new LoginPageElements(driver);
 
                 if (driver == null) {
                     throw new RuntimeException("Unable to obtain valid WebDriver session");
@@ -162,14 +164,14 @@ public class LoginPage {
             }
 
 
-            WebElement loginElement = wait.until(ExpectedConditions.elementToBeClickable(loginButtonLocator));
+            WebElement loginElement = wait.until(MutationWait.elementToBeClickable(loginButtonLocator));
 
 
             loginElement.click();
             System.out.println("Clicked login button");
 
 
-            Thread.sleep(1000);
+            PageReadiness.waitForReady(driver, "after login submit");
 
         } catch (Exception e) {
             System.err.println("Failed to click login button: " + e.getMessage());
@@ -179,6 +181,11 @@ public class LoginPage {
 
 
     public void login(String username, String password) {
+        if (FastFill.isEnabled()) {
+            loginFast(username, password);
+            return;
+        }
+
         System.out.println("Starting login process...");
         try {
             enterUsername(username);
@@ -193,6 +200,68 @@ public class LoginPage {
     }
 
 
+    // Either outcome of a login submit, so one wait settles which page we landed on
+    private static final By LOGIN_OUTCOME = By.xpath(
+            ((By.Remotable) DashboardPageElements.DASHBOARD_HEADER).getRemoteParameters().value()
+                    + " | " + ((By.Remotable) LoginPageElements.ERROR_MESSAGE).getRemoteParameters().value());
+
+
+    // Transition: login page -> dashboard, verified once here
+    public DashboardPage loginAs(String username, String password) {
+        if (!submitAndAwaitOutcome(username, password)) {
+            throw new IllegalStateException("Login failed for user " + username + ": " + getErrorMessage());
+        }
+        return new DashboardPage(driver);
+    }
+
+
+    // Transition: login page -> login page with an error; stays on this page object
+    public LoginPage loginExpectingError(String username, String password) {
+        if (submitAndAwaitOutcome(username, password)) {
+            throw new IllegalStateException("Login unexpectedly succeeded for user: " + username);
+        }
+        return this;
+    }
+
+
+    // True when the dashboard header is what appeared: matched by its own locator in one in-page query, not by the tag that answered
+    private boolean submitAndAwaitOutcome(String username, String password) {
+        login(username, password);
+        try {
+            wait.until(MutationWait.visibilityOfElementLocated(LOGIN_OUTCOME));
+            return AbsenceCheck.isVisibleNow(driver, DashboardPageElements.DASHBOARD_HEADER);
+        } catch (Exception e) {
+            throw new RuntimeException("Neither the dashboard nor a login error appeared for user: " + username, e);
+        }
+    }
+
+
+    // Fills both fields, verifies them and submits in one script call; types natively if the batch is declined
+    public void loginFast(String username, String password) {
+        System.out.println("Starting fast login process...");
+        boolean submitted = FastFill.on(driver)
+                .field(usernameLocator, username)
+                .field(passwordLocator, password)
+                .submit(loginButtonLocator)
+                .execute();
+
+        if (!submitted) {
+            try {
+                enterUsername(username);
+                enterPassword(password);
+                clickLoginButton();
+            } catch (Exception e) {
+                System.err.println("Login process failed: " + e.getMessage());
+                throw new RuntimeException("Login process failed for user: " + username, e);
+            }
+            return;
+        }
+
+        PageReadiness.waitForReady(driver, "after login submit");
+        System.out.println("Fast login submitted for: " + username);
+    }
+
+
     public String getErrorMessage() {
         try {
 
@@ -202,8 +271,13 @@ public class LoginPage {
             }
 
 
+            if (AbsenceCheck.isProbablyAbsent(driver, errorMessageLocator)) {
+                System.out.println("No error message displayed (normal for successful login)");
+                return "";
+            }
+
             WebElement errorElement = wait.until(
-                    ExpectedConditions.visibilityOfElementLocated(errorMessageLocator)
+                    MutationWait.visibilityOfElementLocated(errorMessageLocator)
             );
 
             String message = errorElement.getText().trim();
@@ -218,6 +292,16 @@ public class LoginPage {
     }
 
 
+    public boolean isErrorMessageAbsent() {
+        try {
+            return AbsenceCheck.isProbablyAbsent(driver, errorMessageLocator);
+        } catch (Exception e) {
+            System.err.println("Error checking for absent error message: " + e.getMessage());
+            return false;
+        }
+    }
+
+
     public boolean isLoginPageDisplayed() {
         try {
 
@@ -227,9 +311,9 @@ public class LoginPage {
             }
 
 
-            boolean usernameVisible = wait.until(ExpectedConditions.visibilityOfElementLocated(usernameLocator)) != null;
-            boolean passwordVisible = driver.findElement(passwordLocator).isDisplayed();
-            boolean loginButtonVisible = driver.findElement(loginButtonLocator).isDisplayed();
+            boolean usernameVisible = wait.until(MutationWait.visibilityOfElementLocated(usernameLocator)) != null;
+            boolean passwordVisible = elements.password().isDisplayed();
+            boolean loginButtonVisible = elements.loginButton().isDisplayed();
 
             boolean isDisplayed = usernameVisible && passwordVisible && loginButtonVisible;
             System.out.println("Login page displayed: " + isDisplayed);
@@ -240,37 +324,4 @@ public class LoginPage {
             return false;
         }
     }
-
-
-    public void waitForLoginResult() {
-        try {
-
-            if (!isDriverSessionValid()) {
-                System.out.println("Cannot wait for login result - invalid driver session");
-                return;
-            }
-
-
-            wait.until(driver -> {
-                try {
-
-                    String currentUrl = driver.getCurrentUrl();
-                    if (currentUrl.contains("/dashboard")) {
-                        return true;
-                    }
-
-
-                    return driver.findElements(errorMessageLocator).size() > 0;
-
-                } catch (Exception e) {
-                    return false;
-                }
-            });
-
-            System.out.println("Login result determined");
-
-        } catch (Exception e) {
-            System.err.println("Timeout waiting for login result: " + e.getMessage());
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package pages;
+
+import locators.Locate;
+import locators.PageLocators;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.How;
+
+
+@PageLocators
+public interface LoginPageLocators {
+
+    @Locate(how = How.NAME, using = "username")
+    WebElement username();
+
+    @Locate(how = How.NAME, using = "password")
+    WebElement password();
+
+    @Locate(how = How.XPATH, using = "//button[@type='submit']")
+    WebElement loginButton();
+
+    @Locate(how = How.XPATH, using = "//p[@class='oxd-text oxd-text--p oxd-alert-content-text']", cache = false)
+    WebElement errorMessage();
+}
@@ -0,0 +1,67 @@
+package pages;
+
+import org.openqa.selenium.WebDriver;
+import utils.PageReadiness;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+// Remembers which page each session was last verified on; valid while the document and its mutation epoch are unchanged
+public final class Navigation {
+
+    private static final Map<WebDriver, Confirmation> confirmed = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final AtomicLong skipped = new AtomicLong();
+    private static final AtomicLong verified = new AtomicLong();
+
+    private Navigation() {
+    }
+
+
+    static void markVerified(WebDriver driver, Class<?> page) {
+        String token = PageReadiness.documentToken(driver);
+        if (token != null) {
+            confirmed.put(driver, new Confirmation(page, token));
+        }
+        verified.incrementAndGet();
+    }
+
+    static boolean isVerified(WebDriver driver, Class<?> page) {
+        Confirmation confirmation = confirmed.get(driver);
+        // Asks the page itself, so DOM changes made without a WebDriver command (timers, async renders) are seen too
+        boolean current = confirmation != null
+                && confirmation.page == page
+                && Objects.equals(confirmation.token, PageReadiness.documentToken(driver));
+        if (current) {
+            skipped.incrementAndGet();
+            System.out.println(page.getSimpleName() + " already verified in the current DOM epoch - skipping re-check");
+        }
+        return current;
+    }
+
+    public static void forget(WebDriver driver) {
+        confirmed.remove(driver);
+    }
+
+
+    public static void printStatistics() {
+        System.out.println("\nPAGE NAVIGATION STATISTICS:");
+        System.out.println("   Verified Transitions: " + verified.get() + " | Re-verifications Skipped: " + skipped.get());
+    }
+
+
+    private static class Confirmation {
+
+        private final Class<?> page;
+        private final String token;
+
+        Confirmation(Class<?> page, String token) {
+            this.page = page;
+            this.token = token;
+        }
+    }
+}
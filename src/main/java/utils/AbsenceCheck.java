@@ -0,0 +1,59 @@
+package utils;
+
+import base.BaseTest;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+
+
+public class AbsenceCheck {
+
+    private static final String VISIBLE_MATCH_SCRIPT =
+            "var using = arguments[0], value = arguments[1];"
+            + LocatorScripts.FIND_FUNCTION
+            + "var candidates = __ohrmFind(using, value);"
+            + "for (var i = 0; i < candidates.length; i++) {"
+            + "  if (__ohrmVisible(candidates[i])) { return true; }"
+            + "}"
+            + "return false;";
+
+
+    // One in-page query once the page has settled: a missing element costs milliseconds, not a wait timeout
+    public static boolean isProbablyAbsent(WebDriver driver, By locator) {
+        long start = System.currentTimeMillis();
+        PageReadiness.waitForReady(driver, "absence check");
+
+        boolean absent = !isVisibleNow(driver, locator);
+
+        System.out.println("Absence check for " + locator + ": "
+                + (absent ? "absent" : "present") + " (" + (System.currentTimeMillis() - start) + " ms)");
+        return absent;
+    }
+
+
+    public static boolean isVisibleNow(WebDriver driver, By locator) {
+        if (LocatorScripts.isSupported(locator)) {
+            Object visible = ((JavascriptExecutor) driver).executeScript(VISIBLE_MATCH_SCRIPT,
+                    LocatorScripts.using(locator), LocatorScripts.value(locator));
+            return Boolean.TRUE.equals(visible);
+        }
+
+        // Locators without W3C parameters fall back to findElements with the implicit wait suspended
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            List<WebElement> matches = driver.findElements(locator);
+            for (WebElement match : matches) {
+                if (match.isDisplayed()) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            driver.manage().timeouts().implicitlyWait(BaseTest.IMPLICIT_WAIT);
+        }
+    }
+}
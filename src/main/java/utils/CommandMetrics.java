@@ -0,0 +1,254 @@
+package utils;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+public class CommandMetrics implements WebDriverListener {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("metrics.commands.enabled", "true"));
+
+    private static final Path OUTPUT = Paths.get(System.getProperty("metrics.commands.file",
+            ReportRenderer.REPORT_DIR.resolve("command-latency.json").toString()));
+
+    public static final String EXPLICIT_WAIT = "explicitWait";
+
+    // Accessors that never leave the JVM; timing them would only dilute the histograms
+    private static final Set<String> LOCAL_CALLS = Set.of(
+            "getWrappedDriver", "getWrappedElement", "getCapabilities", "getId", "manage", "navigate", "switchTo",
+            "window", "timeouts", "toString", "hashCode", "equals");
+
+    private static final String UNKNOWN_PAGE = "(none)";
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    // Identity keys, as in SessionHealth: decorated drivers are proxies
+    private static final Map<WebDriver, CommandMetrics> tracked = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    // Calls can nest (a decorated element inside a decorated driver call), so each thread keeps a small stack of starts
+    private static final ThreadLocal<CallClock> clocks = ThreadLocal.withInitial(CallClock::new);
+
+    private final String browser;
+    private volatile String page = UNKNOWN_PAGE;
+    private WebDriver driver;
+
+
+    public CommandMetrics(WebDriver rawDriver) {
+        this.browser = browserOf(rawDriver);
+    }
+
+
+    public static void register(WebDriver decoratedDriver, CommandMetrics metrics) {
+        if (decoratedDriver != null && metrics != null) {
+            metrics.driver = decoratedDriver;
+            tracked.put(decoratedDriver, metrics);
+        }
+    }
+
+    public static void forget(WebDriver driver) {
+        if (driver != null) {
+            tracked.remove(driver);
+        }
+    }
+
+
+    // Page objects announce themselves so later commands are attributed to the page being driven
+    public static void onPage(WebDriver driver, String page) {
+        CommandMetrics metrics = driver == null ? null : tracked.get(driver);
+        if (metrics != null) {
+            metrics.page = page;
+        }
+    }
+
+
+    public static void recordWait(WebDriver driver, long nanos) {
+        CommandMetrics metrics = driver == null ? null : tracked.get(driver);
+        if (metrics != null) {
+            metrics.record(EXPLICIT_WAIT, nanos);
+        } else {
+            record("unknown", UNKNOWN_PAGE, EXPLICIT_WAIT, nanos);
+        }
+    }
+
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (ENABLED && !LOCAL_CALLS.contains(method.getName())) {
+            clocks.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    @Override
+    public void afterQuit(WebDriver driver) {
+        forget(this.driver);
+    }
+
+
+    // Percentiles go to stdout, a JSON file for tooling, and a table in the Extent report
+    public static void publish() {
+        if (!ENABLED) {
+            return;
+        }
+        List<Map<String, Object>> rows = snapshot();
+        printStatistics(rows);
+        writeJson(rows);
+        addToReport(rows);
+    }
+
+
+    private void finish(Method method) {
+        if (!ENABLED || LOCAL_CALLS.contains(method.getName())) {
+            return;
+        }
+        long start = clocks.get().pop();
+        if (start != CallClock.EMPTY) {
+            record(method.getName(), System.nanoTime() - start);
+        }
+    }
+
+    private void record(String command, long nanos) {
+        record(browser, page, command, nanos);
+    }
+
+    private static void record(String browser, String page, String command, long nanos) {
+        histograms.computeIfAbsent(browser + "|" + page + "|" + command, key -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+
+    private static List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String[] key = entry.getKey().split("\\|", 3);
+            LatencyHistogram histogram = entry.getValue();
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("browser", key[0]);
+            row.put("page", key[1]);
+            row.put("command", key[2]);
+            row.put("count", histogram.getCount());
+            row.put("meanMs", round(histogram.getMeanMillis()));
+            row.put("p50Ms", round(histogram.percentileMillis(50)));
+            row.put("p95Ms", round(histogram.percentileMillis(95)));
+            row.put("p99Ms", round(histogram.percentileMillis(99)));
+            row.put("maxMs", round(histogram.getMaxMillis()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static void printStatistics(List<Map<String, Object>> rows) {
+        System.out.println("\nCOMMAND LATENCY (ms):");
+        for (Map<String, Object> row : rows) {
+            System.out.println("   " + row.get("browser") + " / " + row.get("page") + " / " + row.get("command")
+                    + ": n=" + row.get("count") + " | p50 " + row.get("p50Ms") + " | p95 " + row.get("p95Ms")
+                    + " | p99 " + row.get("p99Ms") + " | max " + row.get("maxMs"));
+        }
+    }
+
+    private static void writeJson(List<Map<String, Object>> rows) {
+        try {
+            if (OUTPUT.getParent() != null) {
+                Files.createDirectories(OUTPUT.getParent());
+            }
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("generatedAt", System.currentTimeMillis());
+            document.put("unit", "ms");
+            document.put("commands", rows);
+            Files.writeString(OUTPUT, new Json().toJson(document));
+            System.out.println("Command latency written to " + OUTPUT);
+        } catch (IOException e) {
+            System.err.println("Could not write command latency file: " + e.getMessage());
+        }
+    }
+
+    // Run-level system info, not a test: the report's test counts and the merger's totals stay those of real tests
+    private static void addToReport(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            long commands = 0;
+            Map<String, Object> slowest = rows.get(0);
+            for (Map<String, Object> row : rows) {
+                commands += ((Number) row.get("count")).longValue();
+                if (((Number) row.get("p95Ms")).doubleValue() > ((Number) slowest.get("p95Ms")).doubleValue()) {
+                    slowest = row;
+                }
+            }
+
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("Command Latency", OUTPUT.toString());
+            info.put("Timed Commands", commands);
+            info.put("Slowest p95 Command", slowest.get("browser") + " / " + slowest.get("page") + " / " + slowest.get("command")
+                    + ": " + slowest.get("p95Ms") + " ms (n=" + slowest.get("count") + ")");
+            ExtentReportManager.recordSystemInfo(info);
+            ExtentReportManager.flushReports();
+        } catch (Exception e) {
+            System.err.println("Could not add command latency to the report: " + e.getMessage());
+        }
+    }
+
+    private static String browserOf(WebDriver driver) {
+        try {
+            if (driver instanceof HasCapabilities) {
+                return ((HasCapabilities) driver).getCapabilities().getBrowserName();
+            }
+        } catch (Exception ignored) {
+            // Fall through to the class name
+        }
+        return driver == null ? "unknown" : driver.getClass().getSimpleName();
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+
+
+    private static class CallClock {
+
+        static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] starts = new long[8];
+        private int depth;
+
+        void push(long start) {
+            if (depth == starts.length) {
+                starts = Arrays.copyOf(starts, depth * 2);
+            }
+            starts[depth++] = start;
+        }
+
+        long pop() {
+            return depth > 0 ? starts[--depth] : EMPTY;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package utils;
+
+import base.DriverServiceManager;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlTest;
+
+
+public class DriverServiceListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            String browser = test.getParameter("browser");
+            if (browser == null) {
+                continue;
+            }
+
+            try {
+                DriverServiceManager.start(browser);
+            } catch (Exception e) {
+                System.err.println("Could not pre-start " + browser + " driver service: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+
+        // Runs after @AfterSuite, so pooled sessions have already been quit
+        DriverServiceManager.stopAll();
+    }
+}
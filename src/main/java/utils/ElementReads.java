@@ -0,0 +1,77 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+// Element reads in one round trip: the lookup and the read happen in the same script instead of findElement + get*.
+// Nothing is memoized - the page changes on its own (XHR, timers), so only the page can say what is current.
+public class ElementReads {
+
+    private static final String READ_SCRIPT =
+            "var using = arguments[0], value = arguments[1], op = arguments[2], name = arguments[3];"
+            + LocatorScripts.FIND_FUNCTION
+            + "var el = __ohrmFind(using, value)[0];"
+            + "if (op === 'displayed') { return { found: true, value: !!el && __ohrmVisible(el) }; }"
+            + "if (!el) { return { found: false }; }"
+            + "var result;"
+            + "if (op === 'text') {"
+            + "  result = __ohrmVisible(el) ? (el.innerText || el.textContent || '').trim() : '';"
+            + "} else {"
+            + "  result = el.getAttribute(name);"
+            + "  if (result === null && name in el && el[name] !== null && el[name] !== undefined) { result = String(el[name]); }"
+            + "}"
+            + "return { found: true, value: result };";
+
+    private static final AtomicLong scriptReads = new AtomicLong();
+    private static final AtomicLong nativeReads = new AtomicLong();
+
+
+    public static String getText(WebDriver driver, By locator) {
+        return (String) read(driver, locator, "text", null);
+    }
+
+    public static boolean isDisplayed(WebDriver driver, By locator) {
+        return Boolean.TRUE.equals(read(driver, locator, "displayed", null));
+    }
+
+    public static String getAttribute(WebDriver driver, By locator, String name) {
+        return (String) read(driver, locator, "attribute", name);
+    }
+
+
+    public static void printStatistics() {
+        System.out.println("\nELEMENT READ STATISTICS:");
+        System.out.println("   Single-Script Reads: " + scriptReads.get() + " | Native Reads: " + nativeReads.get());
+    }
+
+
+    private static Object read(WebDriver driver, By locator, String op, String name) {
+        if (!LocatorScripts.isSupported(locator)) {
+            nativeReads.incrementAndGet();
+            return readNatively(driver, locator, op, name);
+        }
+
+        scriptReads.incrementAndGet();
+        Map<?, ?> result = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(READ_SCRIPT,
+                LocatorScripts.using(locator), LocatorScripts.value(locator), op, name);
+        if (!Boolean.TRUE.equals(result.get("found"))) {
+            throw new NoSuchElementException("No element matches " + locator);
+        }
+        return result.get("value");
+    }
+
+    private static Object readNatively(WebDriver driver, By locator, String op, String name) {
+        if ("displayed".equals(op)) {
+            return driver.findElements(locator).stream().findFirst().map(WebElement::isDisplayed).orElse(false);
+        }
+        WebElement element = driver.findElement(locator);
+        return "text".equals(op) ? element.getText() : element.getDomAttribute(name);
+    }
+}
@@ -1,92 +1,399 @@
 package utils;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+// Test threads only append events to a lock-free queue; one background writer streams them to the event log
+public class ExtentReportManager {
 
+    private static final int QUEUE_CAPACITY = Integer.getInteger("report.queue.capacity", 10_000);
+    private static final long DRAIN_TIMEOUT_MS = Long.getLong("report.drainTimeoutMs", 60_000L);
 
-public class ExtentReportManager {
+    private static final Queue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger depth = new AtomicInteger();
+    private static final AtomicLong testIds = new AtomicLong();
 
-    private static ExtentReports extent;
+    private static final AtomicLong enqueued = new AtomicLong();
+    private static final AtomicLong enqueueNanos = new AtomicLong();
+    private static final AtomicLong backPressureWaits = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicInteger maxDepth = new AtomicInteger();
 
+    private static final ThreadLocal<Long> currentTest = new ThreadLocal<>();
 
-    private static ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    private static final Thread writer = startWriter();
+    private static volatile boolean writerIdle;
 
+    // Touched only by the writer thread; the event log is the report's source of truth
+    private static ReportEventLog eventLog;
+    private static ShardedReport shardedReport;
 
-    public static ExtentReports getInstance() {
+
+    public static void startTest(String name, String description) {
+        long testId = testIds.incrementAndGet();
+        currentTest.set(testId);
+        enqueue(ReportEvent.start(testId, name, description));
+    }
 
 
-        if (extent == null) {
-            createInstance();
-            System.out.println("📊 New ExtentReports instance created");
-        } else {
-            System.out.println("♻️  Reusing existing ExtentReports instance");
+    public static void log(Status status, String details) {
+        Long testId = currentTest.get();
+        if (testId == null) {
+            dropped.incrementAndGet();
+            return;
         }
+        enqueue(ReportEvent.log(testId, status, details, null));
+    }
+
 
-        return extent;
+    // Markup is rendered by the writer, so building a table costs the test thread nothing
+    public static void log(Status status, Markup markup) {
+        Long testId = currentTest.get();
+        if (testId == null) {
+            dropped.incrementAndGet();
+            return;
+        }
+        enqueue(ReportEvent.log(testId, status, null, markup));
     }
 
 
-    private static void createInstance() {
+    public static boolean hasTest() {
+        return currentTest.get() != null;
+    }
+
 
+    // Marks the thread's test finished; its events are on disk once the writer reaches this
+    public static void endTest() {
+        Long testId = detachTest();
+        if (testId != null) {
+            endTest(testId);
+        }
+    }
 
-        ExtentSparkReporter sparkReporter = new ExtentSparkReporter("test-reports/ExtentReport.html");
 
+    // Hands the thread's test to background work (such as failure artifacts), which must end it with endTest(testId)
+    public static Long detachTest() {
+        Long testId = currentTest.get();
+        currentTest.remove();
+        return testId;
+    }
 
-        sparkReporter.config().setReportName("OrangeHRM Automation Test Report");
-        sparkReporter.config().setDocumentTitle("Test Execution Report");
+    public static void log(long testId, Status status, String details) {
+        enqueue(ReportEvent.log(testId, status, details, null));
+    }
 
-        System.out.println("📄 HTML report will be saved to: test-reports/ExtentReport.html");
+    // Path is relative to the event log's directory so every renderer can link it from wherever it writes
+    public static void attach(long testId, String kind, String path, long bytes) {
+        enqueue(ReportEvent.artifact(testId, kind, path, bytes));
+    }
 
+    public static void endTest(long testId) {
+        enqueue(ReportEvent.end(testId));
+    }
 
-        extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
 
+    // Same counts TestListener.onFinish prints; ResultMerger adds these up across shards
+    public static void recordSummary(String scope, int total, int passed, int failed, int skipped) {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("scope", scope);
+        counts.put("total", total);
+        counts.put("passed", passed);
+        counts.put("failed", failed);
+        counts.put("skipped", skipped);
+        enqueue(ReportEvent.summary(counts));
+    }
 
-        extent.setSystemInfo("Environment", "QA");
-        extent.setSystemInfo("Tester", "Dehani Pathirana");
-        extent.setSystemInfo("Browser", "Chrome & Firefox");
-        extent.setSystemInfo("Operating System", System.getProperty("os.name"));
-        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
 
-        System.out.println("Report configuration completed");
+    // Run-level facts shown beside the run header's system info; never counted as a test
+    public static void recordSystemInfo(Map<String, Object> info) {
+        enqueue(ReportEvent.system(info));
     }
 
 
-    public static void setTest(ExtentTest test) {
-        extentTest.set(test);
-        System.out.println("Test registered with report: " + test.getModel().getName());
+    // Drains every event queued before this call, then renders the report from the event log; the writer does both
+    public static void flushReports() {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        enqueue(ReportEvent.flush(flushed));
+        try {
+            flushed.get(DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            System.out.println("Reports flushed successfully - Check "
+                    + (ReportRenderer.isSharded() ? ReportRenderer.DEFAULT_SHARDED_DIR.resolve("index.html") + " " : "")
+                    + (ReportRenderer.isExtent() ? ReportRenderer.DEFAULT_HTML : ""));
+        } catch (Exception e) {
+            System.err.println("Report queue did not drain within " + DRAIN_TIMEOUT_MS + " ms: " + e);
+        }
     }
 
 
-    public static ExtentTest getTest() {
-        ExtentTest currentTest = extentTest.get();
+    public static void printStatistics() {
+        long count = enqueued.get();
+        double averageMicros = count > 0 ? enqueueNanos.get() / (double) count / 1_000 : 0;
+        System.out.println("\nREPORT QUEUE STATISTICS:");
+        System.out.println("   Events: " + count + " | Avg Enqueue: " + String.format("%.2f", averageMicros) + " us"
+                + " | Max Depth: " + maxDepth.get() + " / " + QUEUE_CAPACITY
+                + " | Back-Pressure Waits: " + backPressureWaits.get() + " | Dropped (no test): " + dropped.get());
+    }
 
-        if (currentTest != null) {
 
-            return currentTest;
-        } else {
+    private static void enqueue(ReportEvent event) {
+        long start = System.nanoTime();
+
+        // Back-pressure: a slot is only taken while one is free, so a parked producer never holds one it is not using
+        int size;
+        boolean waited = false;
+        while (true) {
+            int current = depth.get();
+            if (current < QUEUE_CAPACITY) {
+                if (depth.compareAndSet(current, current + 1)) {
+                    size = current + 1;
+                    break;
+                }
+                continue;
+            }
+            if (!waited) {
+                waited = true;
+                backPressureWaits.incrementAndGet();
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(50_000);
+        }
+        maxDepth.accumulateAndGet(size, Math::max);
 
-            System.out.println("Warning: No test set in current thread");
-            return null;
+        queue.offer(event);
+        if (writerIdle) {
+            LockSupport.unpark(writer);
         }
+
+        enqueued.incrementAndGet();
+        enqueueNanos.addAndGet(System.nanoTime() - start);
     }
 
 
-    public static void flushReports() {
+    private static Thread startWriter() {
+        Thread thread = new Thread(ExtentReportManager::drainForever, "extent-report-writer");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void drainForever() {
+        while (true) {
+            ReportEvent event = queue.poll();
+            if (event == null) {
+                flushQuietly();
+                writerIdle = true;
+                // Re-check after publishing idleness so a concurrent offer cannot be missed
+                if (queue.isEmpty()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                }
+                writerIdle = false;
+                continue;
+            }
+
+            depth.decrementAndGet();
+            try {
+                apply(event);
+            } catch (Exception e) {
+                System.err.println("Error writing report event: " + e.getMessage());
+                if (event.flushed != null) {
+                    event.flushed.completeExceptionally(e);
+                }
+            }
+        }
+    }
 
-        if (extent != null) {
-            extent.flush();
-            System.out.println("Reports flushed successfully - Check test-reports/ExtentReport.html");
-        } else {
-            System.out.println("Warning: No report instance to flush");
+    private static void flushQuietly() {
+        try {
+            if (eventLog != null) {
+                eventLog.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not flush report event log: " + e.getMessage());
         }
     }
 
+    private static void apply(ReportEvent event) throws IOException {
+        ReportEventLog log = eventLog();
+        if (event.kind != ReportEvent.Kind.FLUSH) {
+            record(event.toMap());
+        }
 
-    public static void removeTest() {
-        extentTest.remove();
-        System.out.println("Test removed from ThreadLocal");
+        switch (event.kind) {
+            case START:
+                System.out.println("Test registered with report: " + event.name);
+                break;
+
+            case END:
+                log.flush();
+                break;
+
+            case FLUSH:
+                log.flush();
+                // Shards are already on disk, so the sharded report only needs a fresh index page
+                if (shardedReport != null) {
+                    shardedReport.writeIndex();
+                }
+                if (ReportRenderer.isExtent()) {
+                    ReportRenderer.renderExtent(log.getPath(), ReportRenderer.DEFAULT_HTML);
+                }
+                event.flushed.complete(null);
+                break;
+
+            default:
+                break;
+        }
     }
-}
 
+
+    private static ReportEventLog eventLog() throws IOException {
+        if (eventLog == null) {
+            eventLog = ReportEventLog.create(ReportRenderer.DEFAULT_LOG);
+            if (ReportRenderer.isSharded()) {
+                shardedReport = new ShardedReport(ReportRenderer.DEFAULT_SHARDED_DIR, ReportRenderer.DEFAULT_LOG);
+            }
+            record(runHeader());
+            eventLog.flush();
+            System.out.println("📄 Report events streaming to: " + eventLog.getPath());
+        }
+        return eventLog;
+    }
+
+
+    private static void record(Map<String, Object> event) throws IOException {
+        eventLog.append(event);
+        if (shardedReport != null) {
+            shardedReport.accept(event);
+        }
+    }
+
+
+    private static Map<String, Object> runHeader() {
+        Map<String, Object> system = new LinkedHashMap<>();
+        system.put("Environment", "QA");
+        system.put("Tester", "Dehani Pathirana");
+        system.put("Browser", "Chrome & Firefox");
+        system.put("Operating System", System.getProperty("os.name"));
+        system.put("Java Version", System.getProperty("java.version"));
+        system.put("Parallel Mode", System.getProperty(ParallelSuiteListener.MODE_PROPERTY, "none"));
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("type", "run");
+        header.put("format", ReportEventLog.FORMAT);
+        header.put("version", ReportEventLog.VERSION);
+        header.put("shard", ReportRenderer.shardId());
+        header.put("ts", System.currentTimeMillis());
+        header.put("system", system);
+        return header;
+    }
+
+
+    private static final class ReportEvent {
+
+        enum Kind { START, LOG, ARTIFACT, END, SUMMARY, SYSTEM, FLUSH }
+
+        final Kind kind;
+        final long testId;
+        final long timestamp = System.currentTimeMillis();
+        String name;
+        String details;
+        Status status;
+        Markup markup;
+        Map<String, Object> counts;
+        CompletableFuture<Void> flushed;
+
+        private ReportEvent(Kind kind, long testId) {
+            this.kind = kind;
+            this.testId = testId;
+        }
+
+        static ReportEvent start(long testId, String name, String description) {
+            ReportEvent event = new ReportEvent(Kind.START, testId);
+            event.name = name;
+            event.details = description;
+            return event;
+        }
+
+        static ReportEvent log(long testId, Status status, String details, Markup markup) {
+            ReportEvent event = new ReportEvent(Kind.LOG, testId);
+            event.status = status;
+            event.details = details;
+            event.markup = markup;
+            return event;
+        }
+
+        static ReportEvent artifact(long testId, String kind, String path, long bytes) {
+            ReportEvent event = new ReportEvent(Kind.ARTIFACT, testId);
+            event.name = kind;
+            event.details = path;
+            event.counts = Map.of("bytes", bytes);
+            return event;
+        }
+
+        static ReportEvent end(long testId) {
+            return new ReportEvent(Kind.END, testId);
+        }
+
+        static ReportEvent summary(Map<String, Object> counts) {
+            ReportEvent event = new ReportEvent(Kind.SUMMARY, 0);
+            event.counts = counts;
+            return event;
+        }
+
+        static ReportEvent system(Map<String, Object> info) {
+            ReportEvent event = new ReportEvent(Kind.SYSTEM, 0);
+            event.counts = info;
+            return event;
+        }
+
+        static ReportEvent flush(CompletableFuture<Void> flushed) {
+            ReportEvent event = new ReportEvent(Kind.FLUSH, 0);
+            event.flushed = flushed;
+            return event;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("type", kind.name().toLowerCase());
+            if (kind == Kind.SUMMARY) {
+                map.put("ts", timestamp);
+                map.putAll(counts);
+                return map;
+            }
+            if (kind == Kind.SYSTEM) {
+                map.put("ts", timestamp);
+                map.put("system", counts);
+                return map;
+            }
+            map.put("test", testId);
+            map.put("ts", timestamp);
+            if (kind == Kind.START) {
+                map.put("name", name);
+                map.put("description", details);
+            } else if (kind == Kind.LOG) {
+                map.put("status", status.name());
+                if (markup != null) {
+                    map.put("markup", markup.getMarkup());
+                } else {
+                    map.put("details", details);
+                }
+            } else if (kind == Kind.ARTIFACT) {
+                map.put("kind", name);
+                map.put("path", details);
+                map.putAll(counts);
+            }
+            return map;
+        }
+    }
+}
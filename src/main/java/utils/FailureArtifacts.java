@@ -0,0 +1,274 @@
+package utils;
+
+import com.aventstack.extentreports.Status;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+
+public class FailureArtifacts {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("artifacts.enabled", "true"));
+    private static final long BUDGET_BYTES = Long.getLong("artifacts.maxMb", 200L) * 1024 * 1024;
+    private static final float JPEG_QUALITY = Float.parseFloat(System.getProperty("artifacts.jpegQuality", "0.7"));
+    private static final long BARRIER_TIMEOUT_MS = Long.getLong("artifacts.barrierTimeoutMs", 30_000L);
+    private static final boolean CONSOLE_ENABLED = Boolean.parseBoolean(System.getProperty("artifacts.console", "true"));
+
+    // Artifact paths are stored relative to this, the event log's directory
+    private static final Path BASE = ReportRenderer.baseOf(ReportRenderer.DEFAULT_LOG);
+
+    // Keeps the last 200 console errors/warnings and uncaught errors of each document (idempotent)
+    private static final String CONSOLE_SCRIPT =
+            "(function () {"
+            + "  if (window.__ohrmConsole) { return; }"
+            + "  var lines = window.__ohrmConsole = [];"
+            + "  var describe = function (value) {"
+            + "    if (value instanceof Error) { return value.stack || value.message; }"
+            + "    if (typeof value === 'string') { return value; }"
+            + "    try { return JSON.stringify(value); } catch (e) { return String(value); }"
+            + "  };"
+            + "  var remember = function (level, values) {"
+            + "    var text = Array.prototype.map.call(values, describe).join(' ');"
+            + "    lines.push({ level: level, ts: Date.now(), text: text.slice(0, 2000) });"
+            + "    if (lines.length > 200) { lines.shift(); }"
+            + "  };"
+            + "  ['error', 'warn'].forEach(function (level) {"
+            + "    var original = console[level];"
+            + "    console[level] = function () { try { remember(level, arguments); } catch (e) {} return original.apply(console, arguments); };"
+            + "  });"
+            + "  window.addEventListener('error', function (e) { remember('uncaught', [e.message + ' (' + e.filename + ':' + e.lineno + ')']); });"
+            + "  window.addEventListener('unhandledrejection', function (e) { remember('unhandledrejection', [e.reason]); });"
+            + "})();";
+
+    private static final String CAPTURE_SCRIPT =
+            "return { url: location.href, title: document.title,"
+            + "  dom: document.documentElement ? document.documentElement.outerHTML : '',"
+            + "  console: window.__ohrmConsole || [] };";
+
+    private static final AtomicInteger threadIds = new AtomicInteger();
+
+    // Never runs work on the failing thread: the queue is unbounded, and the disk budget bounds what it can hold
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            2, 2, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "failure-artifacts-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+
+    // Raw screenshot and DOM bytes waiting in the queue; they count against the budget until written
+    private static final AtomicLong queuedBytes = new AtomicLong();
+
+    private static final AtomicLong captures = new AtomicLong();
+    private static final AtomicLong captureNanos = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong overBudget = new AtomicLong();
+    private static final AtomicInteger directoryIds = new AtomicInteger();
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+
+    // Console capture has to be in place before the page's own scripts run, so it is registered for every new document.
+    // Needs CDP; other browsers' failure artifacts carry the screenshot and DOM only.
+    public static void installConsoleCapture(WebDriver driver) {
+        if (!ENABLED || !CONSOLE_ENABLED || !(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", CONSOLE_SCRIPT));
+        } catch (Exception e) {
+            System.err.println("Could not install console capture: " + e.getMessage());
+        }
+    }
+
+
+    // Runs on the failing test's thread: one screenshot and one script call, then the report entry is handed off.
+    // The background job links the artifacts and ends the report test, so testId must already be detached.
+    public static void captureAndEnd(WebDriver driver, String testName, Long testId) {
+        if (testId == null) {
+            return;
+        }
+        if (!ENABLED || driver == null) {
+            ExtentReportManager.endTest(testId);
+            return;
+        }
+
+        long start = System.nanoTime();
+        byte[] screenshot = null;
+        Map<?, ?> page = Map.of();
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            System.err.println("Could not capture failure screenshot: " + e.getMessage());
+        }
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+            if (result instanceof Map) {
+                page = (Map<?, ?>) result;
+            }
+        } catch (Exception e) {
+            System.err.println("Could not capture failure DOM and console: " + e.getMessage());
+        }
+        captures.incrementAndGet();
+        captureNanos.addAndGet(System.nanoTime() - start);
+
+        // Raw sizes overstate what is written (JPEG, gzip), so a capture is only refused once the budget is surely gone
+        Object dom = page.get("dom");
+        long held = (screenshot != null ? screenshot.length : 0) + (dom != null ? dom.toString().length() : 0);
+        if (bytesWritten.get() + queuedBytes.addAndGet(held) > BUDGET_BYTES) {
+            queuedBytes.addAndGet(-held);
+            overBudget.incrementAndGet();
+            ExtentReportManager.log(testId, Status.WARNING, "Failure artifacts not saved - artifact budget of "
+                    + (BUDGET_BYTES / 1024 / 1024) + " MB used up");
+            ExtentReportManager.endTest(testId);
+            return;
+        }
+
+        byte[] capturedScreenshot = screenshot;
+        Map<?, ?> capturedPage = page;
+        CompletableFuture<Void> job = CompletableFuture.runAsync(() -> {
+            try {
+                write(testName, testId, capturedScreenshot, capturedPage);
+            } catch (Exception e) {
+                System.err.println("Could not write failure artifacts for " + testName + ": " + e.getMessage());
+            } finally {
+                queuedBytes.addAndGet(-held);
+                ExtentReportManager.endTest(testId);
+            }
+        }, executor);
+
+        pending.add(job);
+        job.whenComplete((ignored, error) -> pending.remove(job));
+    }
+
+
+    // Lets the report flush include links for every failure captured so far
+    public static void awaitCompletion() {
+        long deadline = System.currentTimeMillis() + BARRIER_TIMEOUT_MS;
+        for (CompletableFuture<Void> job : List.copyOf(pending)) {
+            try {
+                job.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                System.err.println("Failure artifact barrier gave up on a capture: " + e);
+            }
+        }
+    }
+
+
+    public static void printStatistics() {
+        long count = captures.get();
+        double averageMs = count > 0 ? captureNanos.get() / (double) count / 1_000_000 : 0;
+        System.out.println("\nFAILURE ARTIFACT STATISTICS:");
+        System.out.println("   Captures: " + count + " | Avg On-Thread Capture: " + String.format("%.1f", averageMs) + " ms"
+                + " | Written: " + (bytesWritten.get() / 1024) + " KB of " + (BUDGET_BYTES / 1024 / 1024) + " MB budget"
+                + " | Skipped Over Budget: " + overBudget.get());
+    }
+
+
+    private static void write(String testName, long testId, byte[] screenshot, Map<?, ?> page) throws IOException {
+        String safeName = testName.replaceAll("[^A-Za-z0-9._-]", "_");
+        Path directory = BASE.resolve("artifacts").resolve(safeName + "-" + directoryIds.incrementAndGet());
+        Files.createDirectories(directory);
+
+        if (screenshot != null) {
+            save(testId, "screenshot", directory.resolve("screenshot.jpg"), toJpeg(screenshot));
+        }
+
+        Object dom = page.get("dom");
+        if (dom != null) {
+            String header = "<!-- " + page.get("url") + " | " + page.get("title") + " -->\n";
+            save(testId, "dom", directory.resolve("dom.html.gz"), gzip(header + dom));
+        }
+
+        Object console = page.get("console");
+        if (console instanceof List && !((List<?>) console).isEmpty()) {
+            StringBuilder lines = new StringBuilder();
+            for (Object entry : (List<?>) console) {
+                if (entry instanceof Map) {
+                    Map<?, ?> line = (Map<?, ?>) entry;
+                    lines.append(line.get("ts")).append(' ').append(line.get("level")).append(' ').append(line.get("text")).append('\n');
+                }
+            }
+            save(testId, "console", directory.resolve("console.log.gz"), gzip(lines.toString()));
+        }
+    }
+
+    private static void save(long testId, String kind, Path file, byte[] content) throws IOException {
+        // Reserve before writing so concurrent failures cannot overshoot the budget together
+        if (bytesWritten.addAndGet(content.length) > BUDGET_BYTES) {
+            bytesWritten.addAndGet(-content.length);
+            overBudget.incrementAndGet();
+            ExtentReportManager.log(testId, Status.WARNING, "Failure " + kind + " not saved - artifact budget of "
+                    + (BUDGET_BYTES / 1024 / 1024) + " MB used up");
+            return;
+        }
+        Files.write(file, content);
+        ExtentReportManager.attach(testId, kind, BASE.relativize(file).toString().replace('\\', '/'), content.length);
+    }
+
+    private static byte[] toJpeg(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            return png;
+        }
+        // JPEG has no alpha channel, so flatten onto an opaque image first
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(source, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(jpeg)) {
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            params.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(rgb, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return jpeg.toByteArray();
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,149 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class FastFill {
+
+    public static final String MODE = System.getProperty("form.fill.mode", "native");
+
+    // Fill through the native value setter so Vue's v-model sees real input/change events, verify, then submit.
+    // Missing or read-only fields and a missing submit are caught before any write. A value the page did not keep, or a
+    // submit still disabled, only shows after writing, so then every field is set back to what it held and the batch declines.
+    private static final String FILL_SCRIPT =
+            "var fields = arguments[0], submitUsing = arguments[1], submitValue = arguments[2];"
+            + LocatorScripts.FIND_FUNCTION
+            + "var first = function (using, value) { return __ohrmFind(using, value).filter(__ohrmVisible)[0]; };"
+            + "var problems = [], targets = [];"
+            + "fields.forEach(function (field) {"
+            + "  var el = first(field[0], field[1]);"
+            + "  if (!el || el.disabled || el.readOnly) { problems.push('not editable: ' + field[1]); }"
+            + "  else { targets.push({ el: el, text: field[2], label: field[1] }); }"
+            + "});"
+            + "var button = submitUsing ? first(submitUsing, submitValue) : null;"
+            + "if (submitUsing && !button) { problems.push('submit not found: ' + submitValue); }"
+            + "if (problems.length) { return { ok: false, problems: problems }; }"
+            + "var write = function (el, text) {"
+            + "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, text);"
+            + "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "};"
+            + "targets.forEach(function (t) {"
+            + "  t.previous = t.el.value;"
+            + "  t.el.focus();"
+            + "  write(t.el, t.text);"
+            + "  t.el.dispatchEvent(new Event('blur'));"
+            + "});"
+            + "targets.forEach(function (t) {"
+            + "  if (t.el.value !== t.text) { problems.push('value not kept: ' + t.label); }"
+            + "});"
+            + "if (button && button.disabled) { problems.push('submit not clickable: ' + submitValue); }"
+            + "if (problems.length) {"
+            + "  targets.forEach(function (t) { write(t.el, t.previous); });"
+            + "  return { ok: false, problems: problems };"
+            + "}"
+            + "if (button) { button.click(); }"
+            + "return { ok: true };";
+
+    private static final AtomicLong batches = new AtomicLong();
+    private static final AtomicLong fallbacks = new AtomicLong();
+    private static final AtomicLong totalBatchNanos = new AtomicLong();
+
+    private final WebDriver driver;
+    private final Map<By, String> fields = new LinkedHashMap<>();
+    private By submitLocator;
+
+
+    private FastFill(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static FastFill on(WebDriver driver) {
+        return new FastFill(driver);
+    }
+
+    public static boolean isEnabled() {
+        return "fast".equalsIgnoreCase(MODE);
+    }
+
+
+    public FastFill field(By locator, String text) {
+        fields.put(locator, text == null ? "" : text);
+        return this;
+    }
+
+    public FastFill submit(By locator) {
+        this.submitLocator = locator;
+        return this;
+    }
+
+
+    // True when every field was set, verified and (if requested) submitted in one round trip. False means nothing was
+    // submitted and every field holds its previous value again, so the caller can type natively from a clean form
+    public boolean execute() {
+        if (!canBatch()) {
+            fallbacks.incrementAndGet();
+            return false;
+        }
+
+        List<List<String>> payload = new ArrayList<>();
+        for (Map.Entry<By, String> field : fields.entrySet()) {
+            payload.add(Arrays.asList(LocatorScripts.using(field.getKey()), LocatorScripts.value(field.getKey()), field.getValue()));
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, payload,
+                    submitLocator != null ? LocatorScripts.using(submitLocator) : null,
+                    submitLocator != null ? LocatorScripts.value(submitLocator) : null);
+
+            Map<?, ?> outcome = result instanceof Map ? (Map<?, ?>) result : Map.of();
+            if (Boolean.TRUE.equals(outcome.get("ok"))) {
+                long elapsed = System.nanoTime() - start;
+                batches.incrementAndGet();
+                totalBatchNanos.addAndGet(elapsed);
+                System.out.println("Fast-filled " + fields.size() + " field(s)" + (submitLocator != null ? " and submitted" : "")
+                        + " in " + (elapsed / 1_000_000) + " ms");
+                return true;
+            }
+
+            System.out.println("Fast fill declined - falling back to native typing: " + outcome.get("problems"));
+
+        } catch (Exception e) {
+            System.out.println("Fast fill failed - falling back to native typing: " + e.getMessage());
+        }
+
+        fallbacks.incrementAndGet();
+        return false;
+    }
+
+
+    public static void printStatistics() {
+        long count = batches.get();
+        double averageMs = count > 0 ? totalBatchNanos.get() / (double) count / 1_000_000 : 0;
+        System.out.println("\nFAST FILL STATISTICS:");
+        System.out.println("   Mode: " + MODE + " | Batched: " + count + " | Fallbacks: " + fallbacks.get()
+                + " | Avg Batch: " + String.format("%.1f", averageMs) + " ms");
+    }
+
+
+    private boolean canBatch() {
+        if (driver == null || fields.isEmpty()) {
+            return false;
+        }
+        if (submitLocator != null && !LocatorScripts.isSupported(submitLocator)) {
+            return false;
+        }
+        return fields.keySet().stream().allMatch(LocatorScripts::isSupported);
+    }
+}
@@ -0,0 +1,303 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+public class HttpLoginClient {
+
+    private static final Map<String, HttpLoginClient> clients = new ConcurrentHashMap<>();
+
+    private static final String LOGIN_PATH = "/web/index.php/auth/login";
+    private static final String VALIDATE_PATH = "/web/index.php/auth/validate";
+    private static final int MAX_REDIRECTS = 10;
+
+    // OrangeHRM renders the token as a Vue prop (:token="&quot;...&quot;"); older builds use a hidden input
+    private static final Pattern VUE_TOKEN = Pattern.compile(":token=\"&quot;([^&\"]+)&quot;\"");
+    private static final Pattern INPUT_TOKEN = Pattern.compile("name=\"_token\"[^>]*value=\"([^\"]+)\"");
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+
+    // Concurrency limit without blocking callers: a mint over the limit queues here until a running one finishes
+    private final Deque<CompletableFuture<Void>> waitingForPermit = new ArrayDeque<>();
+    private int permits;
+
+    private final AtomicLong minted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalMintNanos = new AtomicLong();
+
+
+    public HttpLoginClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        // One shared client keeps a keep-alive connection pool; cookies are tracked per mint, not per client
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.permits = Integer.getInteger("http.login.maxConcurrent", 64);
+    }
+
+    public static HttpLoginClient forBaseUrl(String baseUrl) {
+        return clients.computeIfAbsent(baseUrl, HttpLoginClient::new);
+    }
+
+
+    public List<Cookie> mint(String username, String password) {
+        try {
+            return mintAsync(username, password).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new RuntimeException("HTTP login failed for user: " + username, cause);
+        }
+    }
+
+
+    // Never blocks the caller: mints over http.login.maxConcurrent start when an earlier one completes
+    public CompletableFuture<List<Cookie>> mintAsync(String username, String password) {
+        return acquirePermit().thenCompose(ignored -> {
+            try {
+                return mintWithPermit(username, password);
+            } catch (RuntimeException e) {
+                releasePermit();
+                throw e;
+            }
+        });
+    }
+
+
+    private CompletableFuture<List<Cookie>> mintWithPermit(String username, String password) {
+        long start = System.nanoTime();
+
+        return login(username, password, true)
+                .whenComplete((cookies, error) -> {
+                    releasePermit();
+                    totalMintNanos.addAndGet(System.nanoTime() - start);
+                    if (error == null) {
+                        minted.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                });
+    }
+
+
+    private CompletableFuture<List<Cookie>> login(String username, String password, boolean mayRestart) {
+        Map<String, HttpCookie> jar = new ConcurrentHashMap<>();
+
+        return follow(HttpRequest.newBuilder(URI.create(baseUrl + LOGIN_PATH)).GET(), jar, 0)
+                .thenCompose(loginPage -> {
+                    String token = extractToken(loginPage.body());
+                    String form = "_token=" + encode(token)
+                            + "&username=" + encode(username)
+                            + "&password=" + encode(password);
+                    HttpRequest.Builder submit = HttpRequest.newBuilder(URI.create(baseUrl + VALIDATE_PATH))
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString(form));
+                    return follow(submit, jar, 0);
+                })
+                .thenApply(landing -> {
+                    String path = landing.uri().getPath();
+                    if (landing.statusCode() >= 400 || path.contains("/auth/login")) {
+                        throw new RuntimeException("HTTP login rejected for user: " + username
+                                + " (landed on " + path + ", status " + landing.statusCode() + ")");
+                    }
+                    return toSeleniumCookies(jar.values());
+                })
+                .handle((cookies, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(cookies);
+                    }
+                    Throwable cause = unwrap(error);
+                    if (mayRestart && isDroppedConnection(cause)) {
+                        // The POST may have spent its CSRF token, so start over from a fresh login page rather than replay it
+                        return login(username, password, false);
+                    }
+                    return CompletableFuture.<List<Cookie>>failedFuture(cause);
+                })
+                .thenCompose(future -> future);
+    }
+
+
+    public void printStatistics() {
+        long count = minted.get() + failed.get();
+        double averageMs = count > 0 ? totalMintNanos.get() / (double) count / 1_000_000 : 0;
+        System.out.println("\nHTTP LOGIN STATISTICS (" + baseUrl + "):");
+        System.out.println("   Minted: " + minted.get() + " | Failed: " + failed.get()
+                + " | Avg Mint: " + String.format("%.1f", averageMs) + " ms");
+    }
+
+
+    public static void printAllStatistics() {
+        for (HttpLoginClient client : clients.values()) {
+            client.printStatistics();
+        }
+    }
+
+
+    private CompletableFuture<HttpResponse<String>> follow(HttpRequest.Builder request, Map<String, HttpCookie> jar, int hops) {
+        String cookieHeader = cookieHeader(jar);
+        if (!cookieHeader.isEmpty()) {
+            request.header("Cookie", cookieHeader);
+        }
+        request.timeout(Duration.ofSeconds(30));
+        HttpRequest built = request.build();
+
+        return sendWithRetry(built)
+                .thenCompose(response -> {
+                    storeCookies(response, jar);
+
+                    int status = response.statusCode();
+                    if (status < 300 || status >= 400) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    if (hops >= MAX_REDIRECTS) {
+                        throw new RuntimeException("Too many redirects during HTTP login");
+                    }
+
+                    String location = response.headers().firstValue("Location")
+                            .orElseThrow(() -> new RuntimeException("Redirect without Location header"));
+                    URI next = response.uri().resolve(location);
+                    return follow(HttpRequest.newBuilder(next).GET(), jar, hops + 1);
+                });
+    }
+
+    private CompletableFuture<Void> acquirePermit() {
+        synchronized (waitingForPermit) {
+            if (permits > 0) {
+                permits--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> turn = new CompletableFuture<>();
+            waitingForPermit.add(turn);
+            return turn;
+        }
+    }
+
+    private void releasePermit() {
+        CompletableFuture<Void> next;
+        synchronized (waitingForPermit) {
+            next = waitingForPermit.poll();
+            if (next == null) {
+                permits++;
+            }
+        }
+        // The permit passes straight to the next queued mint
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendWithRetry(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Throwable cause = unwrap(error);
+                    // A pooled keep-alive connection was closed by the server - replay once on a fresh one.
+                    // Only GETs are replayed here; a failed validate POST restarts the whole login instead.
+                    if ("GET".equals(request.method()) && isDroppedConnection(cause)) {
+                        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+                    }
+                    return CompletableFuture.<HttpResponse<String>>failedFuture(cause);
+                })
+                .thenCompose(future -> future);
+    }
+
+    // A timeout is not a dropped connection: the server may still be handling the request
+    private static boolean isDroppedConnection(Throwable cause) {
+        return cause instanceof IOException && !(cause instanceof HttpTimeoutException);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static String extractToken(String html) {
+        Matcher vue = VUE_TOKEN.matcher(html);
+        if (vue.find()) {
+            return vue.group(1);
+        }
+        Matcher input = INPUT_TOKEN.matcher(html);
+        if (input.find()) {
+            return input.group(1);
+        }
+        throw new RuntimeException("CSRF token not found on login page");
+    }
+
+    private static void storeCookies(HttpResponse<?> response, Map<String, HttpCookie> jar) {
+        String host = response.uri().getHost();
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            for (HttpCookie cookie : HttpCookie.parse(header)) {
+                if (cookie.getDomain() == null) {
+                    cookie.setDomain(host);
+                }
+                if (cookie.getPath() == null) {
+                    cookie.setPath("/");
+                }
+                if (cookie.getMaxAge() == 0) {
+                    jar.remove(cookie.getName());
+                } else {
+                    jar.put(cookie.getName(), cookie);
+                }
+            }
+        }
+    }
+
+    private static String cookieHeader(Map<String, HttpCookie> jar) {
+        StringBuilder header = new StringBuilder();
+        for (HttpCookie cookie : jar.values()) {
+            if (header.length() > 0) {
+                header.append("; ");
+            }
+            header.append(cookie.getName()).append('=').append(cookie.getValue());
+        }
+        return header.toString();
+    }
+
+    private static List<Cookie> toSeleniumCookies(Iterable<HttpCookie> cookies) {
+        Map<String, Cookie> converted = new LinkedHashMap<>();
+        for (HttpCookie cookie : cookies) {
+            Cookie.Builder builder = new Cookie.Builder(cookie.getName(), cookie.getValue())
+                    .domain(cookie.getDomain())
+                    .path(cookie.getPath())
+                    .isSecure(cookie.getSecure())
+                    .isHttpOnly(cookie.isHttpOnly());
+            if (cookie.getMaxAge() > 0) {
+                builder.expiresOn(new Date(System.currentTimeMillis() + cookie.getMaxAge() * 1000));
+            }
+            converted.put(cookie.getName(), builder.build());
+        }
+        return new ArrayList<>(converted.values());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+
+public class LocatorScripts {
+
+    // Defines __ohrmFind(using, value) returning every element matching a W3C locator strategy
+    static final String FIND_FUNCTION =
+            "function __ohrmFind(using, value) {"
+            + "  switch (using) {"
+            + "    case 'css selector': return Array.prototype.slice.call(document.querySelectorAll(value));"
+            + "    case 'id': return Array.prototype.slice.call(document.querySelectorAll('[id=\"' + CSS.escape(value) + '\"]'));"
+            + "    case 'name': return Array.prototype.slice.call(document.getElementsByName(value));"
+            + "    case 'class name': return Array.prototype.slice.call(document.getElementsByClassName(value));"
+            + "    case 'tag name': return Array.prototype.slice.call(document.getElementsByTagName(value));"
+            + "    case 'xpath':"
+            + "      var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "      var nodes = [];"
+            + "      for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }"
+            + "      return nodes;"
+            + "    case 'link text':"
+            + "    case 'partial link text':"
+            + "      return Array.prototype.slice.call(document.getElementsByTagName('a')).filter(function (a) {"
+            + "        var text = (a.innerText || a.textContent || '').trim();"
+            + "        return using === 'link text' ? text === value : text.indexOf(value) >= 0;"
+            + "      });"
+            + "    default: throw new Error('Unsupported locator strategy: ' + using);"
+            + "  }"
+            + "}"
+            + "function __ohrmVisible(el) {"
+            + "  if (!el || !el.isConnected) { return false; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) { return false; }"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  return rect.width > 0 && rect.height > 0;"
+            + "}";
+
+
+    public static boolean isSupported(By locator) {
+        return locator instanceof By.Remotable;
+    }
+
+    public static String using(By locator) {
+        return ((By.Remotable) locator).getRemoteParameters().using();
+    }
+
+    public static String value(By locator) {
+        return String.valueOf(((By.Remotable) locator).getRemoteParameters().value());
+    }
+}
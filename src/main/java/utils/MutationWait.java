@@ -0,0 +1,152 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.concurrent.TimeUnit;
+
+
+public class MutationWait {
+
+    private static final boolean ENABLED = !"polling".equalsIgnoreCase(System.getProperty("wait.strategy", "mutation"));
+
+    // Longest time one in-page wait may block; must stay below the session script timeout
+    private static final long SLICE_MS = Long.getLong("wait.mutation.sliceMs", 5_000L);
+
+    private static final String WAIT_SCRIPT =
+            "var using = arguments[0], value = arguments[1], condition = arguments[2], expectedText = arguments[3],"
+            + "    timeout = arguments[4], done = arguments[arguments.length - 1];"
+            + LocatorScripts.FIND_FUNCTION
+            + "var match = function () {"
+            + "  var candidates = __ohrmFind(using, value);"
+            + "  for (var i = 0; i < candidates.length; i++) {"
+            + "    var el = candidates[i];"
+            + "    if (condition === 'present') { return el; }"
+            + "    if (!__ohrmVisible(el)) { continue; }"
+            + "    if (condition === 'clickable' && el.disabled) { continue; }"
+            + "    if (condition === 'text' && (el.innerText || el.textContent || '').indexOf(expectedText) < 0) { continue; }"
+            + "    return el;"
+            + "  }"
+            + "  return null;"
+            + "};"
+            + "var first = match();"
+            + "if (first) { done(first); return; }"
+            + "var finished = false, scheduled = false, observer, timer, sweep;"
+            + "var finish = function (result) {"
+            + "  if (finished) { return; }"
+            + "  finished = true; observer.disconnect(); clearTimeout(timer); clearInterval(sweep); done(result);"
+            + "};"
+            + "var check = function () { scheduled = false; var hit = match(); if (hit) { finish(hit); } };"
+            + "observer = new MutationObserver(function () {"
+            + "  if (!scheduled) { scheduled = true; Promise.resolve().then(check); }"
+            + "});"
+            + "observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });"
+            // CSS transitions change visibility without mutating the DOM, so sweep occasionally as well
+            + "sweep = setInterval(check, 250);"
+            + "timer = setTimeout(function () { finish(null); }, timeout);";
+
+
+    public static ExpectedCondition<WebElement> presenceOfElementLocated(By locator) {
+        if (!ENABLED || !LocatorScripts.isSupported(locator)) {
+            return ExpectedConditions.presenceOfElementLocated(locator);
+        }
+        return new ElementCondition(locator, "present", null);
+    }
+
+
+    public static ExpectedCondition<WebElement> visibilityOfElementLocated(By locator) {
+        if (!ENABLED || !LocatorScripts.isSupported(locator)) {
+            return ExpectedConditions.visibilityOfElementLocated(locator);
+        }
+        return new ElementCondition(locator, "visible", null);
+    }
+
+
+    public static ExpectedCondition<WebElement> elementToBeClickable(By locator) {
+        if (!ENABLED || !LocatorScripts.isSupported(locator)) {
+            return ExpectedConditions.elementToBeClickable(locator);
+        }
+        return new ElementCondition(locator, "clickable", null);
+    }
+
+
+    public static ExpectedCondition<Boolean> textToBePresentInElementLocated(By locator, String text) {
+        if (!ENABLED || !LocatorScripts.isSupported(locator)) {
+            return ExpectedConditions.textToBePresentInElementLocated(locator, text);
+        }
+        ElementCondition condition = new ElementCondition(locator, "text", text);
+        return new InPageCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                condition.deadlineNanos = deadlineNanos;
+                return condition.apply(driver) != null;
+            }
+
+            @Override
+            public String toString() {
+                return condition.toString();
+            }
+        };
+    }
+
+
+    // TimedWait runs these back to back without polling sleeps, having set the deadline each slice is capped at
+    static boolean blocksInPage(Object condition) {
+        return condition instanceof InPageCondition;
+    }
+
+    static void setDeadline(Object condition, long deadlineNanos) {
+        ((InPageCondition<?>) condition).deadlineNanos = deadlineNanos;
+    }
+
+
+    private abstract static class InPageCondition<V> implements ExpectedCondition<V> {
+
+        volatile long deadlineNanos = Long.MAX_VALUE;
+
+        long sliceMs() {
+            if (deadlineNanos == Long.MAX_VALUE) {
+                return SLICE_MS;
+            }
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            return Math.max(0, Math.min(SLICE_MS, remainingMs));
+        }
+    }
+
+
+    private static class ElementCondition extends InPageCondition<WebElement> {
+
+        private final By locator;
+        private final String condition;
+        private final String text;
+
+        ElementCondition(By locator, String condition, String text) {
+            this.locator = locator;
+            this.condition = condition;
+            this.text = text;
+        }
+
+        @Override
+        public WebElement apply(WebDriver driver) {
+            try {
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT,
+                        LocatorScripts.using(locator), LocatorScripts.value(locator), condition, text, sliceMs());
+                return result instanceof WebElement ? (WebElement) result : null;
+            } catch (WebDriverException e) {
+                // Navigation replaced the document or the slice hit the script timeout - let the wait poll again
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            String description = "text".equals(condition) ? "text '" + text + "' present in" : condition;
+            return description + " element located by " + locator + " (mutation observer)";
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class PageReadiness {
+
+    private static final long QUIET_WINDOW_MS = Long.getLong("readiness.quietMs", 150L);
+    private static final long TIMEOUT_MS = Long.getLong("readiness.timeoutMs", 15_000L);
+
+
+    // Installs request counters and a mutation clock into the current document (idempotent)
+    static final String BOOTSTRAP_SCRIPT =
+            "(function () {"
+            + "  if (window.__ohrm) { return; }"
+            + "  var state = window.__ohrm = { pending: 0, lastActivity: Date.now(), epoch: 0, id: Math.random().toString(36).slice(2) };"
+            + "  var touch = function () { state.lastActivity = Date.now(); };"
+            + "  var send = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function () {"
+            + "    state.pending++; touch();"
+            + "    this.addEventListener('loadend', function () { state.pending--; touch(); });"
+            + "    return send.apply(this, arguments);"
+            + "  };"
+            + "  if (window.fetch) {"
+            + "    var nativeFetch = window.fetch;"
+            + "    window.fetch = function () {"
+            + "      state.pending++; touch();"
+            + "      return nativeFetch.apply(this, arguments).finally(function () { state.pending--; touch(); });"
+            + "    };"
+            + "  }"
+            + "  var observe = function () {"
+            + "    new MutationObserver(function () { state.epoch++; touch(); })"
+            + "      .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });"
+            + "  };"
+            + "  if (document.documentElement) { observe(); } else { document.addEventListener('DOMContentLoaded', observe); }"
+            + "  if (window.PerformanceObserver) {"
+            + "    try { new PerformanceObserver(touch).observe({ entryTypes: ['resource'] }); } catch (e) {}"
+            + "  }"
+            + "})();";
+
+    private static final String WAIT_SCRIPT =
+            "var quiet = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];"
+            + BOOTSTRAP_SCRIPT
+            + "var state = window.__ohrm, start = Date.now();"
+            + "var afterVueFlush = function (callback) {"
+            + "  var root = document.querySelector('#app');"
+            + "  if (root && root.__vue_app__) {"
+            + "    Promise.resolve().then(function () { setTimeout(callback, 0); });"
+            + "  } else { callback(); }"
+            + "};"
+            + "(function check() {"
+            + "  var now = Date.now();"
+            + "  if (document.readyState === 'complete' && state.pending <= 0 && now - state.lastActivity >= quiet) {"
+            + "    afterVueFlush(function () { done({ ready: true, epoch: state.epoch }); });"
+            + "    return;"
+            + "  }"
+            + "  if (now - start >= timeout) {"
+            + "    done({ ready: false, epoch: state.epoch, pending: state.pending, readyState: document.readyState });"
+            + "    return;"
+            + "  }"
+            + "  setTimeout(check, 25);"
+            + "})();";
+
+    private static final String TOKEN_SCRIPT =
+            BOOTSTRAP_SCRIPT
+            + "return window.__ohrm.id + ':' + window.__ohrm.epoch;";
+
+    private static final AtomicLong waits = new AtomicLong();
+    private static final AtomicLong timeouts = new AtomicLong();
+    private static final AtomicLong totalWaitMs = new AtomicLong();
+    private static final AtomicLong maxWaitMs = new AtomicLong();
+
+
+    public static void installOnNewDocuments(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                        Map.of("source", BOOTSTRAP_SCRIPT));
+            } catch (Exception e) {
+                System.err.println("Could not pre-install readiness hooks: " + e.getMessage());
+            }
+        }
+    }
+
+
+    // Document id + mutation epoch: changes on navigation and on any DOM mutation; null if the page cannot be asked
+    public static String documentToken(WebDriver driver) {
+        try {
+            Object token = ((JavascriptExecutor) driver).executeScript(TOKEN_SCRIPT);
+            return token != null ? token.toString() : null;
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+
+    public static long waitForReady(WebDriver driver) {
+        return waitForReady(driver, "page");
+    }
+
+
+    public static long waitForReady(WebDriver driver, String label) {
+        long start = System.currentTimeMillis();
+        long deadline = start + TIMEOUT_MS;
+        boolean ready = false;
+        String lastProblem = "";
+
+        while (!ready && System.currentTimeMillis() < deadline) {
+            long remaining = Math.max(1, deadline - System.currentTimeMillis());
+            try {
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, QUIET_WINDOW_MS, remaining);
+                if (result instanceof Map) {
+                    Map<?, ?> state = (Map<?, ?>) result;
+                    ready = Boolean.TRUE.equals(state.get("ready"));
+                    lastProblem = "pending requests=" + state.get("pending") + ", readyState=" + state.get("readyState");
+                }
+            } catch (WebDriverException e) {
+                // The document was replaced mid-wait (full page navigation) - retry against the new one
+                lastProblem = e.getMessage() != null ? e.getMessage().split("\n")[0] : e.toString();
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        record(elapsed, ready);
+
+        if (ready) {
+            System.out.println("Page ready (" + label + ") in " + elapsed + " ms");
+        } else {
+            System.out.println("Page not settled (" + label + ") after " + elapsed + " ms - " + lastProblem);
+        }
+
+        return elapsed;
+    }
+
+
+    public static void printStatistics() {
+        long count = waits.get();
+        double average = count > 0 ? totalWaitMs.get() / (double) count : 0;
+
+        System.out.println("\nPAGE READINESS STATISTICS:");
+        System.out.println("   Waits: " + count + " | Timed Out: " + timeouts.get());
+        System.out.println("   Avg Wait: " + String.format("%.1f", average) + " ms | Max Wait: " + maxWaitMs.get() + " ms"
+                + " | Quiet Window: " + QUIET_WINDOW_MS + " ms");
+    }
+
+
+    private static void record(long elapsedMs, boolean ready) {
+        waits.incrementAndGet();
+        if (!ready) {
+            timeouts.incrementAndGet();
+        }
+        totalWaitMs.addAndGet(elapsedMs);
+        maxWaitMs.accumulateAndGet(elapsedMs, Math::max);
+    }
+}
@@ -0,0 +1,45 @@
+package utils;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+
+
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    public static final String MODE_PROPERTY = "parallel.mode";
+    public static final String THREADS_PROPERTY = "parallel.threads";
+
+    public static int getThreadCount() {
+        return Math.max(1, Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+
+        String mode = System.getProperty(MODE_PROPERTY, "none").trim().toLowerCase();
+        XmlSuite.ParallelMode parallelMode = XmlSuite.ParallelMode.getValidParallel(mode);
+
+        if (parallelMode == XmlSuite.ParallelMode.NONE) {
+            System.out.println("Parallel execution disabled (set -D" + MODE_PROPERTY + "=methods|classes|tests to enable)");
+            return;
+        }
+
+        int threadCount = getThreadCount();
+
+        for (XmlSuite suite : suites) {
+            suite.setParallel(parallelMode);
+            suite.setThreadCount(threadCount);
+            suite.setDataProviderThreadCount(threadCount);
+
+            for (XmlTest test : suite.getTests()) {
+                test.setParallel(parallelMode);
+                test.setThreadCount(threadCount);
+            }
+        }
+
+        System.out.println("Parallel execution enabled: mode=" + parallelMode + ", threads=" + threadCount);
+    }
+}
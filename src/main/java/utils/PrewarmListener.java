@@ -0,0 +1,131 @@
+package utils;
+
+import base.AsyncTeardown;
+import base.BrowserContextManager;
+import base.DriverFactory;
+import base.DriverPool;
+import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class PrewarmListener implements ISuiteListener, IInvokedMethodListener {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("prewarm.enabled", "true"));
+
+    private final AtomicLong suiteStartNanos = new AtomicLong();
+    private final AtomicLong firstTestNanos = new AtomicLong();
+    private final AtomicInteger warmed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile long prewarmMs;
+
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStartNanos.set(System.nanoTime());
+        if (!ENABLED) {
+            return;
+        }
+
+        Set<String> browsers = new LinkedHashSet<>();
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            String browser = test.getParameter("browser");
+            if (browser != null && !BrowserContextManager.isEnabledFor(browser)) {
+                browsers.add(browser.toLowerCase());
+            }
+        }
+        if (browsers.isEmpty()) {
+            return;
+        }
+
+        // Split the pool between browsers so one browser's prewarm does not evict the other's
+        int fairShare = Math.max(1, DriverPool.getInstance().getMaxSize() / browsers.size());
+        int perBrowser = Integer.getInteger("prewarm.count",
+                Math.min(fairShare, concurrentTestsPerBrowser(suite.getXmlSuite())));
+        int total = perBrowser * browsers.size();
+        if (total <= 0) {
+            System.out.println("Prewarm skipped: prewarm.count is " + perBrowser);
+            return;
+        }
+        System.out.println("Prewarming " + perBrowser + " session(s) for each of " + browsers);
+
+        long start = System.currentTimeMillis();
+        ExecutorService launcher = Executors.newFixedThreadPool(total);
+        try {
+            List<CompletableFuture<Void>> launches = new ArrayList<>();
+            for (String browser : browsers) {
+                for (int i = 0; i < perBrowser; i++) {
+                    launches.add(CompletableFuture.runAsync(() -> warm(browser), launcher));
+                }
+            }
+            CompletableFuture.allOf(launches.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            launcher.shutdown();
+        }
+        prewarmMs = System.currentTimeMillis() - start;
+
+        System.out.println("Prewarm finished in " + prewarmMs + " ms: " + warmed.get() + " ready, " + failed.get() + " failed");
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            firstTestNanos.compareAndSet(0, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long first = firstTestNanos.get();
+        long timeToFirstTestMs = first > 0 ? (first - suiteStartNanos.get()) / 1_000_000 : -1;
+
+        System.out.println("\nPREWARM STATISTICS:");
+        System.out.println("   Prewarm: " + (ENABLED ? prewarmMs + " ms" : "disabled")
+                + " | Sessions: " + warmed.get() + " ready, " + failed.get() + " failed");
+        System.out.println("   Time to first test: " + (timeToFirstTestMs >= 0 ? timeToFirstTestMs + " ms" : "n/a")
+                + " (suite start to first @Test, includes prewarm)");
+    }
+
+
+    private void warm(String browser) {
+        try {
+            boolean parked = DriverPool.getInstance().prewarm(browser, () -> {
+                WebDriver driver = DriverFactory.create(browser);
+                try {
+                    DriverFactory.prepare(driver);
+                } catch (RuntimeException e) {
+                    AsyncTeardown.quit(driver, "failed prewarm");
+                    throw e;
+                }
+                return driver;
+            });
+            if (parked) {
+                warmed.incrementAndGet();
+            } else {
+                System.out.println("Driver pool is full - not prewarming another " + browser + " session");
+            }
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            System.err.println("Could not prewarm " + browser + " session: " + e.getMessage());
+        }
+    }
+
+    private static int concurrentTestsPerBrowser(XmlSuite suite) {
+        return suite.getParallel() == XmlSuite.ParallelMode.NONE ? 1 : suite.getThreadCount();
+    }
+}
@@ -0,0 +1,111 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Consumer;
+
+
+// Append-only JSON Lines file: one report event per line, so a crash loses at most the line being written
+public class ReportEventLog implements AutoCloseable {
+
+    // Written into every log's first ("run") line; bump VERSION when an event's meaning changes
+    public static final String FORMAT = "ohrm-report-events";
+    public static final int VERSION = 1;
+
+    private static final Json JSON = new Json();
+
+    private final Path path;
+    private final BufferedWriter writer;
+
+
+    private ReportEventLog(Path path, BufferedWriter writer) {
+        this.path = path;
+        this.writer = writer;
+    }
+
+    public static ReportEventLog create(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            return new ReportEventLog(path, Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open report event log " + path, e);
+        }
+    }
+
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void append(Map<String, Object> event) throws IOException {
+        writer.write(encode(event));
+        writer.newLine();
+    }
+
+    // Hands buffered lines to the OS; they survive a JVM crash from here on
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+
+    // Streams the log line by line; a torn final line from an interrupted run is skipped
+    public static long read(Path path, Consumer<Map<String, Object>> consumer) throws IOException {
+        long skipped = 0;
+        boolean first = true;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> event;
+                try {
+                    event = JSON.toType(line, Json.MAP_TYPE);
+                } catch (JsonException e) {
+                    skipped++;
+                    continue;
+                }
+                if (first) {
+                    checkHeader(path, event);
+                    first = false;
+                }
+                consumer.accept(event);
+            }
+        }
+        return skipped;
+    }
+
+
+    private static void checkHeader(Path path, Map<String, Object> header) throws IOException {
+        if (!"run".equals(header.get("type")) || !FORMAT.equals(header.get("format"))) {
+            throw new IOException(path + " is not a report event log (expected a " + FORMAT + " header line)");
+        }
+        Object version = header.get("version");
+        if (!(version instanceof Number) || ((Number) version).intValue() > VERSION) {
+            throw new IOException(path + " uses " + FORMAT + " version " + version + "; this build reads up to " + VERSION);
+        }
+    }
+
+
+    static String encode(Map<String, Object> event) {
+        StringBuilder line = new StringBuilder(128);
+        JSON.newOutput(line).setPrettyPrint(false).writeClassName(false).write(event);
+        return line.toString();
+    }
+}
@@ -0,0 +1,231 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+
+// Builds the HTML reports from a report event log; also runnable on its own to rebuild reports after a crash:
+//   java -cp <test classpath> utils.ReportRenderer [test-reports/shard-<id>/report-events.jsonl]
+public class ReportRenderer {
+
+    // Names this JVM's results; unset, every JVM still gets its own id (host and pid) so parallel forks never share files
+    public static final String SHARD_ID = System.getProperty("report.shard.id");
+
+    private static final Path REPORTS_ROOT = Paths.get("test-reports");
+
+    // Every JVM writes under test-reports/shard-<id>; ResultMerger combines the shard directories into one report
+    public static final Path REPORT_DIR = REPORTS_ROOT.resolve("shard-" + shardId());
+
+    public static final Path DEFAULT_LOG = Paths.get(System.getProperty("report.events.file", REPORT_DIR.resolve("report-events.jsonl").toString()));
+    public static final Path DEFAULT_HTML = REPORT_DIR.resolve("ExtentReport.html");
+    public static final Path DEFAULT_SHARDED_DIR = Paths.get(System.getProperty("report.sharded.dir", REPORT_DIR.resolve("report").toString()));
+
+    // "extent" (single Spark HTML file), "sharded" (index page plus per-test shards) or both, comma separated
+    private static final Set<String> FORMATS = new HashSet<>(Arrays.asList(
+            System.getProperty("report.format", "extent,sharded").toLowerCase().replace(" ", "").split(",")));
+
+
+    // Without an argument, rebuilds the most recently written shard's reports next to its log
+    public static void main(String[] args) throws IOException {
+        Path log = args.length > 0 ? Paths.get(args[0]) : latestLog();
+        Path directory = baseOf(log);
+        if (isSharded()) {
+            renderSharded(log, directory.resolve("report"));
+        }
+        if (isExtent()) {
+            renderExtent(log, directory.resolve("ExtentReport.html"));
+        }
+    }
+
+
+    public static String shardId() {
+        if (SHARD_ID != null) {
+            return SHARD_ID;
+        }
+        String host = System.getenv().getOrDefault("HOSTNAME", System.getenv().getOrDefault("COMPUTERNAME", "localhost"));
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+
+    private static Path latestLog() throws IOException {
+        if (!Files.isDirectory(REPORTS_ROOT)) {
+            throw new IllegalArgumentException("No " + REPORTS_ROOT + " directory - pass the report event log to render");
+        }
+        try (Stream<Path> files = Files.walk(REPORTS_ROOT)) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith("report-events")
+                            && file.getFileName().toString().endsWith(".jsonl"))
+                    .max(Comparator.comparingLong(file -> file.toFile().lastModified()))
+                    .orElseThrow(() -> new IllegalArgumentException("No report event log under " + REPORTS_ROOT));
+        }
+    }
+
+
+    // Directory that artifact paths in a log are relative to
+    public static Path baseOf(Path log) {
+        Path parent = log.toAbsolutePath().normalize().getParent();
+        return parent != null ? parent : Paths.get("").toAbsolutePath();
+    }
+
+    // Link from a report written into outputDirectory to an artifact recorded in the given log
+    static String linkTo(Path outputDirectory, Path log, Object artifactPath) {
+        Path artifact = baseOf(log).resolve(String.valueOf(artifactPath));
+        return outputDirectory.toAbsolutePath().normalize().relativize(artifact).toString().replace('\\', '/');
+    }
+
+
+    public static boolean isSharded() {
+        return FORMATS.contains("sharded");
+    }
+
+    public static boolean isExtent() {
+        return FORMATS.contains("extent");
+    }
+
+
+    public static void renderSharded(Path log, Path directory) throws IOException {
+        long start = System.currentTimeMillis();
+        ShardedReport report = new ShardedReport(directory, log);
+        IOException[] failure = new IOException[1];
+
+        long skipped = ReportEventLog.read(log, event -> {
+            try {
+                if (failure[0] == null) {
+                    report.accept(event);
+                }
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        int unfinished = report.finishRunning();
+        report.writeIndex();
+
+        System.out.println("Rendered " + report.getIndex() + " from " + log + ": " + report.getTestCount() + " test(s)"
+                + (unfinished == 0 ? "" : ", " + unfinished + " unfinished")
+                + (skipped == 0 ? "" : ", " + skipped + " unreadable line(s) skipped")
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+
+    public static void renderExtent(Path log, Path html) throws IOException {
+        long start = System.currentTimeMillis();
+
+        ExtentReports reports = createInstance(html);
+        Map<Object, ExtentTest> open = new HashMap<>();
+        Map<String, Object> systemInfo = new LinkedHashMap<>();
+        long[] testCount = new long[1];
+
+        long skipped = ReportEventLog.read(log, event -> {
+            String type = String.valueOf(event.get("type"));
+            Object testId = event.get("test") instanceof Number ? (Object) ((Number) event.get("test")).longValue() : event.get("test");
+            Date timestamp = new Date(((Number) event.getOrDefault("ts", 0L)).longValue());
+
+            switch (type) {
+                case "run":
+                case "system":
+                    Object info = event.get("system");
+                    if (info instanceof Map) {
+                        ((Map<?, ?>) info).forEach((key, value) -> systemInfo.put(String.valueOf(key), value));
+                    }
+                    break;
+
+                case "start":
+                    ExtentTest test = reports.createTest(String.valueOf(event.get("name")), (String) event.get("description"));
+                    test.getModel().setStartTime(timestamp);
+                    open.put(testId, test);
+                    testCount[0]++;
+                    break;
+
+                case "log":
+                    ExtentTest target = open.get(testId);
+                    if (target == null) {
+                        break;
+                    }
+                    Status status = Status.valueOf(String.valueOf(event.getOrDefault("status", "INFO")));
+                    Object markup = event.get("markup");
+                    if (markup != null) {
+                        target.log(status, (Markup) () -> String.valueOf(markup));
+                    } else {
+                        target.log(status, (String) event.get("details"));
+                    }
+                    target.getModel().setEndTime(timestamp);
+                    break;
+
+                case "artifact":
+                    ExtentTest owner = open.get(testId);
+                    if (owner == null) {
+                        break;
+                    }
+                    String link = linkTo(html.toAbsolutePath().getParent(), log, event.get("path"));
+                    if ("screenshot".equals(event.get("kind"))) {
+                        owner.log(Status.INFO, "Failure screenshot", MediaEntityBuilder.createScreenCaptureFromPath(link).build());
+                    } else {
+                        owner.log(Status.INFO, (Markup) () -> "<a href='" + link + "'>Failure " + event.get("kind") + " ("
+                                + ((Number) event.getOrDefault("bytes", 0L)).longValue() / 1024 + " KB)</a>");
+                    }
+                    break;
+
+                case "end":
+                    // Finished tests need nothing more from the log, so only unfinished ones stay referenced here
+                    ExtentTest finished = open.remove(testId);
+                    if (finished != null) {
+                        finished.getModel().setEndTime(timestamp);
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+        });
+
+        for (ExtentTest unfinished : open.values()) {
+            unfinished.log(Status.WARNING, "Test did not finish - report rebuilt from an interrupted run");
+        }
+
+        systemInfo.forEach((key, value) -> reports.setSystemInfo(key, String.valueOf(value)));
+        reports.flush();
+
+        System.out.println("Rendered " + html + " from " + log + ": " + testCount[0] + " test(s)"
+                + (open.isEmpty() ? "" : ", " + open.size() + " unfinished")
+                + (skipped == 0 ? "" : ", " + skipped + " unreadable line(s) skipped")
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+
+    private static ExtentReports createInstance(Path html) {
+
+
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(html.toString());
+
+
+        sparkReporter.config().setReportName("OrangeHRM Automation Test Report");
+        sparkReporter.config().setDocumentTitle("Test Execution Report");
+
+
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(sparkReporter);
+        return reports;
+    }
+}
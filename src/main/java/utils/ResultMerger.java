@@ -0,0 +1,238 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+// Combines the report event logs of several JVMs or nodes into one event log, report and summary:
+//   java -cp <classpath> utils.ResultMerger <output-dir> <event-log-or-directory>...
+//   mvn -Pmerge-results -Dresults.inputs=<dir> -Dresults.output=<dir>
+// Every input is streamed once, so merging is linear in the number of events and holds only running tests in memory.
+public class ResultMerger {
+
+    private static final List<String> COUNTS = List.of("total", "passed", "failed", "skipped");
+
+
+    // Throws instead of calling System.exit: under exec:java this runs inside the Maven JVM, which exit would kill
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ResultMerger <output-dir> <event-log-or-directory>...");
+        }
+        Path output = Paths.get(args[0]);
+        List<Path> inputs = findLogs(Arrays.asList(args).subList(1, args.length), output);
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("No report event logs found in " + Arrays.asList(args).subList(1, args.length));
+        }
+        merge(inputs, output);
+    }
+
+
+    public static Map<String, Long> merge(List<Path> inputs, Path output) throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(output);
+
+        Path mergedLog = output.resolve("report-events.jsonl");
+        ShardedReport report = ReportRenderer.isSharded() ? new ShardedReport(output.resolve("report"), mergedLog) : null;
+        Map<String, Long> totals = emptyCounts();
+        List<Map<String, Object>> shards = new ArrayList<>();
+        Set<String> shardIds = new HashSet<>();
+
+        try (ReportEventLog log = ReportEventLog.create(mergedLog)) {
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("type", "run");
+            header.put("format", ReportEventLog.FORMAT);
+            header.put("version", ReportEventLog.VERSION);
+            header.put("shard", "merged");
+            header.put("ts", System.currentTimeMillis());
+            header.put("inputs", inputs.size());
+            write(log, report, header);
+
+            for (Path input : inputs) {
+                ShardMerge shard = new ShardMerge(input, output);
+                try {
+                    ReportEventLog.read(input, event -> {
+                        try {
+                            shard.accept(event, shardIds);
+                            write(log, report, event);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                Map<String, Long> counts = shard.counts();
+                counts.forEach((name, value) -> totals.merge(name, value, Long::sum));
+                if (!shard.summarized) {
+                    // Keeps the merged log's summary events adding up to the merged totals
+                    Map<String, Object> fallback = new LinkedHashMap<>();
+                    fallback.put("type", "summary");
+                    fallback.put("ts", System.currentTimeMillis());
+                    fallback.put("scope", "finished tests");
+                    fallback.putAll(counts);
+                    fallback.put("shard", shard.shardId);
+                    write(log, report, fallback);
+                }
+
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("shard", shard.shardId);
+                entry.put("file", input.toString());
+                entry.put("summarized", shard.summarized);
+                entry.putAll(counts);
+                shards.add(entry);
+            }
+        }
+
+        if (report != null) {
+            int unfinished = report.finishRunning();
+            report.writeIndex();
+            System.out.println("Merged report: " + report.getIndex() + " (" + report.getTestCount() + " test(s)"
+                    + (unfinished == 0 ? "" : ", " + unfinished + " unfinished") + ")");
+        }
+        if (ReportRenderer.isExtent()) {
+            ReportRenderer.renderExtent(mergedLog, output.resolve("ExtentReport.html"));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("format", ReportEventLog.FORMAT);
+        summary.put("version", ReportEventLog.VERSION);
+        summary.putAll(totals);
+        summary.put("shards", shards);
+        Files.writeString(output.resolve("summary.json"), ReportEventLog.encode(summary));
+
+        System.out.println("Merged " + inputs.size() + " shard(s) into " + output + " in " + (System.currentTimeMillis() - start) + " ms");
+        TestListener.printSummary(totals.get("total").intValue(), totals.get("passed").intValue(),
+                totals.get("failed").intValue(), totals.get("skipped").intValue());
+        return totals;
+    }
+
+
+    private static void write(ReportEventLog log, ShardedReport report, Map<String, Object> event) throws IOException {
+        log.append(event);
+        if (report != null) {
+            report.accept(event);
+        }
+    }
+
+    private static List<Path> findLogs(List<String> arguments, Path output) throws IOException {
+        List<Path> logs = new ArrayList<>();
+        Path outputDir = output.toAbsolutePath().normalize();
+        for (String argument : arguments) {
+            Path path = Paths.get(argument);
+            if (!Files.isDirectory(path)) {
+                logs.add(path);
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(path)) {
+                logs.addAll(files
+                        .filter(file -> file.getFileName().toString().startsWith("report-events")
+                                && file.getFileName().toString().endsWith(".jsonl"))
+                        .filter(file -> !file.toAbsolutePath().normalize().startsWith(outputDir))
+                        .sorted()
+                        .collect(Collectors.toList()));
+            }
+        }
+        return logs;
+    }
+
+    private static Map<String, Long> emptyCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        COUNTS.forEach(name -> counts.put(name, 0L));
+        return counts;
+    }
+
+
+    // Per-input state: rewrites test ids to be unique across shards and adds up that shard's totals
+    private static class ShardMerge {
+
+        private final Path input;
+        private final Path output;
+        private String shardId;
+        private boolean summarized;
+
+        private final Map<String, Long> summaryCounts = emptyCounts();
+
+        // Fallback for shards that died before TestListener.onFinish recorded a summary
+        private final Map<Object, String> runningStatus = new HashMap<>();
+        private final Map<String, Long> endedCounts = emptyCounts();
+
+        ShardMerge(Path input, Path output) {
+            this.input = input;
+            this.output = output;
+        }
+
+        void accept(Map<String, Object> event, Set<String> shardIds) {
+            String type = String.valueOf(event.get("type"));
+
+            if ("run".equals(type) && shardId == null) {
+                String declared = String.valueOf(event.getOrDefault("shard", input.getFileName()));
+                shardId = declared;
+                for (int copy = 2; !shardIds.add(shardId); copy++) {
+                    shardId = declared + "#" + copy;
+                }
+                event.put("shard", shardId);
+                return;
+            }
+
+            if ("summary".equals(type)) {
+                summarized = true;
+                for (String name : COUNTS) {
+                    Object value = event.get(name);
+                    summaryCounts.merge(name, value instanceof Number ? ((Number) value).longValue() : 0L, Long::sum);
+                }
+                event.put("shard", shardId);
+                return;
+            }
+
+            Object testId = event.get("test");
+            if (testId == null) {
+                return;
+            }
+            Object mergedId = shardId + ":" + testId;
+            event.put("test", mergedId);
+
+            if ("artifact".equals(type)) {
+                // Artifacts stay where the shard wrote them; re-point the path at them from the merged log
+                event.put("path", ReportRenderer.linkTo(output, input, event.get("path")));
+                return;
+            }
+
+            if ("start".equals(type)) {
+                runningStatus.put(mergedId, "PASS");
+            } else if ("log".equals(type)) {
+                String status = String.valueOf(event.get("status"));
+                if ("FAIL".equals(status) || ("SKIP".equals(status) && !"FAIL".equals(runningStatus.get(mergedId)))) {
+                    runningStatus.replace(mergedId, status);
+                }
+            } else if ("end".equals(type)) {
+                String status = runningStatus.remove(mergedId);
+                if (status != null) {
+                    endedCounts.merge("total", 1L, Long::sum);
+                    endedCounts.merge("FAIL".equals(status) ? "failed" : "SKIP".equals(status) ? "skipped" : "passed", 1L, Long::sum);
+                }
+            }
+        }
+
+        Map<String, Long> counts() {
+            if (summarized) {
+                return summaryCounts;
+            }
+            System.err.println("Shard " + shardId + " (" + input + ") has no TestNG summary - counting its finished tests instead");
+            return endedCounts;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+
+public class SessionCache {
+
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("session.cache.dir", "target/session-cache"));
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(Long.getLong("session.cache.ttlMinutes", 20L));
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("session.cache.enabled", "true"));
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "var dump = function (storage) {"
+            + "  var copy = {};"
+            + "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); copy[key] = storage.getItem(key); }"
+            + "  return copy;"
+            + "};"
+            + "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+            + "Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });"
+            + "Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });";
+
+    private static final Json JSON = new Json();
+    private static final Map<String, SessionSnapshot> memory = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> mintLocks = new ConcurrentHashMap<>();
+
+    // Which cached session each browser is using, so a logout can drop the snapshot it just ended on the server
+    private static final Map<WebDriver, String> openedAs = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong rejected = new AtomicLong();
+    private static final AtomicLong invalidated = new AtomicLong();
+
+
+    public static boolean open(WebDriver driver, String key, String landingUrl, Runnable uiLogin) {
+        return open(driver, key, landingUrl, "UI login", () -> {
+            uiLogin.run();
+            return capture(driver);
+        }, false);
+    }
+
+
+    public static boolean openWithMinter(WebDriver driver, String key, String landingUrl, Supplier<SessionSnapshot> minter) {
+        return open(driver, key, landingUrl, "HTTP login", minter, true);
+    }
+
+
+    private static boolean open(WebDriver driver, String key, String landingUrl, String source,
+                                Supplier<SessionSnapshot> minter, boolean injectAfterMint) {
+        if (!ENABLED) {
+            SessionSnapshot snapshot = minter.get();
+            if (injectAfterMint) {
+                inject(driver, snapshot, landingUrl);
+            }
+            return false;
+        }
+
+        openedAs.put(driver, key);
+        if (tryRestore(driver, key, landingUrl)) {
+            return true;
+        }
+
+        ReentrantLock lock = mintLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try (FileChannel channel = openLockFile(key)) {
+            FileLock fileLock = channel.lock();
+            try {
+                // Another worker or JVM may have minted the session while we were waiting
+                if (tryRestore(driver, key, landingUrl)) {
+                    return true;
+                }
+
+                misses.incrementAndGet();
+                long start = System.currentTimeMillis();
+                SessionSnapshot snapshot = minter.get();
+                store(key, snapshot);
+                if (injectAfterMint) {
+                    inject(driver, snapshot, landingUrl);
+                }
+                System.out.println("Session for '" + key + "' minted through " + source + " in "
+                        + (System.currentTimeMillis() - start) + " ms and cached");
+                return false;
+            } finally {
+                fileLock.release();
+            }
+
+        } catch (IOException e) {
+            throw new RuntimeException("Session cache lock failed for: " + key, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    public static SessionSnapshot capture(WebDriver driver) {
+        Map<?, ?> storage = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+
+        SessionSnapshot snapshot = new SessionSnapshot();
+        snapshot.origin = originOf(driver.getCurrentUrl());
+        snapshot.capturedAt = System.currentTimeMillis();
+        snapshot.cookies = new ArrayList<>(driver.manage().getCookies());
+        snapshot.localStorage = toStringMap(storage.get("local"));
+        snapshot.sessionStorage = toStringMap(storage.get("session"));
+        return snapshot;
+    }
+
+
+    public static void inject(WebDriver driver, SessionSnapshot snapshot, String landingUrl) {
+        if (driver instanceof HasCdp && snapshot.localStorage.isEmpty() && snapshot.sessionStorage.isEmpty()) {
+            // Chromium accepts cookies for any origin through CDP, so no navigation is needed before the landing page
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            for (Cookie cookie : snapshot.cookies) {
+                cdp.executeCdpCommand("Network.setCookie", toCdpCookie(cookie, snapshot.origin));
+            }
+            driver.get(landingUrl);
+            PageReadiness.waitForReady(driver, "restored session");
+            return;
+        }
+
+        String current = driver.getCurrentUrl();
+        if (current == null || !current.startsWith(snapshot.origin)) {
+            // Cookies and storage can only be written for the document's own origin
+            driver.get(snapshot.origin + "/");
+        }
+
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : snapshot.cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, snapshot.localStorage, snapshot.sessionStorage);
+
+        driver.get(landingUrl);
+        PageReadiness.waitForReady(driver, "restored session");
+    }
+
+
+    public static void invalidate(String key) {
+        memory.remove(key);
+        try {
+            Files.deleteIfExists(fileFor(key));
+        } catch (IOException e) {
+            System.err.println("Could not delete cached session for " + key + ": " + e.getMessage());
+        }
+    }
+
+
+    // Logging out ends the server session every worker sharing this snapshot was given, so it must not be handed out again
+    public static void invalidateFor(WebDriver driver) {
+        String key = openedAs.remove(driver);
+        if (key != null) {
+            invalidate(key);
+            invalidated.incrementAndGet();
+            System.out.println("Cached session for '" + key + "' dropped after logout");
+        }
+    }
+
+    public static void forget(WebDriver driver) {
+        openedAs.remove(driver);
+    }
+
+
+    public static void printStatistics() {
+        System.out.println("\nSESSION CACHE STATISTICS:");
+        System.out.println("   Restored: " + hits.get() + " | Minted: " + misses.get() + " | Rejected: " + rejected.get()
+                + " | Dropped On Logout: " + invalidated.get()
+                + " | TTL: " + TimeUnit.MILLISECONDS.toMinutes(TTL_MS) + " min");
+    }
+
+
+    static void store(String key, SessionSnapshot snapshot) {
+        memory.put(key, snapshot);
+        try {
+            Files.createDirectories(CACHE_DIR);
+            Path target = fileFor(key);
+            Path temp = Files.createTempFile(CACHE_DIR, safeName(key), ".tmp");
+            Files.write(temp, JSON.toJson(snapshot.toJson()).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not persist session snapshot for " + key + ": " + e.getMessage());
+        }
+    }
+
+
+    private static boolean tryRestore(WebDriver driver, String key, String landingUrl) {
+        SessionSnapshot snapshot = load(key);
+        if (snapshot == null) {
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            inject(driver, snapshot, landingUrl);
+            if (driver.getCurrentUrl().contains("/auth/login")) {
+                // The server no longer accepts the session - drop it and log in again
+                rejected.incrementAndGet();
+                invalidate(key);
+                System.out.println("Cached session for '" + key + "' was rejected by the server");
+                return false;
+            }
+        } catch (Exception e) {
+            rejected.incrementAndGet();
+            invalidate(key);
+            System.err.println("Could not restore cached session for " + key + ": " + e.getMessage());
+            return false;
+        }
+
+        hits.incrementAndGet();
+        System.out.println("Session for '" + key + "' restored from cache in " + (System.currentTimeMillis() - start) + " ms");
+        return true;
+    }
+
+    private static SessionSnapshot load(String key) {
+        SessionSnapshot snapshot = memory.get(key);
+        if (snapshot == null) {
+            Path file = fileFor(key);
+            if (Files.exists(file)) {
+                try {
+                    Map<String, Object> raw = JSON.toType(Files.readString(file), Json.MAP_TYPE);
+                    snapshot = SessionSnapshot.fromJson(raw);
+                    memory.put(key, snapshot);
+                } catch (Exception e) {
+                    System.err.println("Ignoring unreadable session cache file " + file + ": " + e.getMessage());
+                    return null;
+                }
+            }
+        }
+
+        if (snapshot != null && !snapshot.isValid(TTL_MS)) {
+            invalidate(key);
+            return null;
+        }
+        return snapshot;
+    }
+
+    private static Map<String, Object> toCdpCookie(Cookie cookie, String origin) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("name", cookie.getName());
+        params.put("value", cookie.getValue());
+        params.put("url", origin + (cookie.getPath() == null ? "/" : cookie.getPath()));
+        params.put("path", cookie.getPath() == null ? "/" : cookie.getPath());
+        params.put("secure", cookie.isSecure());
+        params.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            params.put("expires", cookie.getExpiry().getTime() / 1000.0);
+        }
+        return params;
+    }
+
+    private static FileChannel openLockFile(String key) throws IOException {
+        Files.createDirectories(CACHE_DIR);
+        return FileChannel.open(CACHE_DIR.resolve(safeName(key) + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private static Path fileFor(String key) {
+        return CACHE_DIR.resolve(safeName(key) + ".json");
+    }
+
+    private static String safeName(String key) {
+        return key.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static Map<String, String> toStringMap(Object value) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                result.put(String.valueOf(entry.getKey()), entry.getValue() == null ? null : String.valueOf(entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+
+    public static class SessionSnapshot {
+
+        String origin;
+        long capturedAt;
+        List<Cookie> cookies = new ArrayList<>();
+        Map<String, String> localStorage = new LinkedHashMap<>();
+        Map<String, String> sessionStorage = new LinkedHashMap<>();
+
+        public static SessionSnapshot ofCookies(String origin, List<Cookie> cookies) {
+            SessionSnapshot snapshot = new SessionSnapshot();
+            snapshot.origin = origin;
+            snapshot.capturedAt = System.currentTimeMillis();
+            snapshot.cookies = new ArrayList<>(cookies);
+            return snapshot;
+        }
+
+        boolean isValid(long ttlMs) {
+            long now = System.currentTimeMillis();
+            if (now - capturedAt > ttlMs) {
+                return false;
+            }
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().getTime() <= now) {
+                    return false;
+                }
+            }
+            return !cookies.isEmpty();
+        }
+
+        Map<String, Object> toJson() {
+            List<Map<String, Object>> cookieList = new ArrayList<>();
+            for (Cookie cookie : cookies) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("name", cookie.getName());
+                entry.put("value", cookie.getValue());
+                entry.put("domain", cookie.getDomain());
+                entry.put("path", cookie.getPath());
+                entry.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+                entry.put("secure", cookie.isSecure());
+                entry.put("httpOnly", cookie.isHttpOnly());
+                entry.put("sameSite", cookie.getSameSite());
+                cookieList.add(entry);
+            }
+
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("origin", origin);
+            json.put("capturedAt", capturedAt);
+            json.put("cookies", cookieList);
+            json.put("localStorage", localStorage);
+            json.put("sessionStorage", sessionStorage);
+            return json;
+        }
+
+        static SessionSnapshot fromJson(Map<String, Object> json) {
+            SessionSnapshot snapshot = new SessionSnapshot();
+            snapshot.origin = (String) json.get("origin");
+            snapshot.capturedAt = ((Number) json.get("capturedAt")).longValue();
+            snapshot.localStorage = toStringMap(json.get("localStorage"));
+            snapshot.sessionStorage = toStringMap(json.get("sessionStorage"));
+
+            for (Object item : (List<?>) json.get("cookies")) {
+                Map<?, ?> entry = (Map<?, ?>) item;
+                Cookie.Builder builder = new Cookie.Builder((String) entry.get("name"), (String) entry.get("value"))
+                        .domain((String) entry.get("domain"))
+                        .path((String) entry.get("path"))
+                        .isSecure(Boolean.TRUE.equals(entry.get("secure")))
+                        .isHttpOnly(Boolean.TRUE.equals(entry.get("httpOnly")));
+                if (entry.get("expiry") != null) {
+                    builder.expiresOn(new Date(((Number) entry.get("expiry")).longValue()));
+                }
+                if (entry.get("sameSite") != null) {
+                    builder.sameSite((String) entry.get("sameSite"));
+                }
+                snapshot.cookies.add(builder.build());
+            }
+            return snapshot;
+        }
+    }
+}
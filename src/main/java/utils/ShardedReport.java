@@ -0,0 +1,298 @@
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+
+// Small index page plus one gzip+base64 script shard per test, fetched only when the test is opened.
+// Shards are written as each test ends, so generation cost per test stays constant; only running tests are held in memory.
+public class ShardedReport {
+
+    private static final List<String> STATUS_ORDER = List.of("INFO", "PASS", "WARNING", "SKIP", "FAIL");
+
+    private final Path directory;
+    private final Path shardDirectory;
+    private final Path eventLog;
+
+    private final Map<String, Object> systemInfo = new LinkedHashMap<>();
+    private final Map<Object, Map<String, Object>> running = new HashMap<>();
+    private final List<Map<String, Object>> index = new ArrayList<>();
+    private final Map<String, Integer> totals = new LinkedHashMap<>();
+    private final Map<String, Long> suiteTotals = new LinkedHashMap<>();
+
+    private long shardBytes;
+
+
+    public ShardedReport(Path directory, Path eventLog) throws IOException {
+        this.directory = directory;
+        this.eventLog = eventLog;
+        this.shardDirectory = directory.resolve("shards");
+        Files.createDirectories(shardDirectory);
+        // Shard names restart at t1, so leftovers from a previous run must not linger
+        try (Stream<Path> stale = Files.list(shardDirectory)) {
+            for (Path shard : (Iterable<Path>) stale::iterator) {
+                Files.deleteIfExists(shard);
+            }
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public void accept(Map<String, Object> event) throws IOException {
+        String type = String.valueOf(event.get("type"));
+        Object testKey = testKey(event);
+
+        switch (type) {
+            case "run":
+            case "system":
+                if (event.get("system") instanceof Map) {
+                    systemInfo.putAll((Map<String, Object>) event.get("system"));
+                }
+                break;
+
+            case "start":
+                Map<String, Object> test = new LinkedHashMap<>();
+                test.put("name", event.get("name"));
+                test.put("description", event.get("description"));
+                test.put("start", event.get("ts"));
+                test.put("end", event.get("ts"));
+                test.put("status", "PASS");
+                test.put("logs", new ArrayList<Map<String, Object>>());
+                running.put(testKey, test);
+                break;
+
+            case "log":
+                Map<String, Object> target = running.get(testKey);
+                if (target == null) {
+                    break;
+                }
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("ts", event.get("ts"));
+                line.put("status", event.get("status"));
+                if (event.get("markup") != null) {
+                    line.put("markup", event.get("markup"));
+                } else {
+                    line.put("details", event.get("details"));
+                }
+                ((List<Map<String, Object>>) target.get("logs")).add(line);
+                target.put("end", event.get("ts"));
+                target.put("status", worse(String.valueOf(target.get("status")), String.valueOf(event.get("status"))));
+                break;
+
+            case "artifact":
+                Map<String, Object> owner = running.get(testKey);
+                if (owner == null) {
+                    break;
+                }
+                Map<String, Object> artifact = new LinkedHashMap<>();
+                artifact.put("kind", event.get("kind"));
+                artifact.put("href", ReportRenderer.linkTo(directory, eventLog, event.get("path")));
+                artifact.put("bytes", event.get("bytes"));
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("ts", event.get("ts"));
+                entry.put("status", "INFO");
+                entry.put("artifact", artifact);
+                ((List<Map<String, Object>>) owner.get("logs")).add(entry);
+                break;
+
+            case "summary":
+                for (String count : List.of("total", "passed", "failed", "skipped")) {
+                    Object value = event.get(count);
+                    suiteTotals.merge(count, value instanceof Number ? ((Number) value).longValue() : 0L, Long::sum);
+                }
+                break;
+
+            case "end":
+                Map<String, Object> finished = running.remove(testKey);
+                if (finished != null) {
+                    finished.put("end", event.get("ts"));
+                    writeShard(finished);
+                }
+                break;
+
+            default:
+                break;
+        }
+    }
+
+
+    // For rebuilds after a crash: tests that never ended still get a shard, flagged as unfinished
+    public int finishRunning() throws IOException {
+        int unfinished = running.size();
+        for (Map<String, Object> test : running.values()) {
+            test.put("status", "WARNING");
+            test.put("unfinished", true);
+            writeShard(test);
+        }
+        running.clear();
+        return unfinished;
+    }
+
+
+    public void writeIndex() throws IOException {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("system", systemInfo);
+        data.put("totals", totals);
+        data.put("suite", suiteTotals);
+        data.put("running", running.size());
+        data.put("tests", index);
+
+        String page = INDEX_TEMPLATE.replace("__REPORT_DATA__", ReportEventLog.encode(data).replace("</", "<\\/"));
+        Files.writeString(directory.resolve("index.html"), page);
+    }
+
+
+    public Path getIndex() {
+        return directory.resolve("index.html");
+    }
+
+    public int getTestCount() {
+        return index.size();
+    }
+
+    public long getShardBytes() {
+        return shardBytes;
+    }
+
+
+    private void writeShard(Map<String, Object> test) throws IOException {
+        String shardId = "t" + (index.size() + 1);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(ReportEventLog.encode(test).getBytes(StandardCharsets.UTF_8));
+        }
+        String script = "__ohrmShard(\"" + shardId + "\", \"" + Base64.getEncoder().encodeToString(compressed.toByteArray()) + "\");\n";
+        Files.writeString(shardDirectory.resolve(shardId + ".js"), script);
+        shardBytes += script.length();
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", shardId);
+        row.put("name", test.get("name"));
+        row.put("status", test.get("status"));
+        row.put("start", test.get("start"));
+        row.put("durationMs", ((Number) test.get("end")).longValue() - ((Number) test.get("start")).longValue());
+        row.put("steps", ((List<?>) test.get("logs")).size());
+        index.add(row);
+        totals.merge(String.valueOf(test.get("status")), 1, Integer::sum);
+    }
+
+    private static Object testKey(Map<String, Object> event) {
+        Object test = event.get("test");
+        return test instanceof Number ? ((Number) test).longValue() : test;
+    }
+
+    private static String worse(String current, String candidate) {
+        return STATUS_ORDER.indexOf(candidate) > STATUS_ORDER.indexOf(current) ? candidate : current;
+    }
+
+
+    // Shards load through <script> tags so the report also works from file://, where fetch() is blocked
+    private static final String INDEX_TEMPLATE = String.join("\n",
+            "<!DOCTYPE html>",
+            "<html lang=\"en\">",
+            "<head>",
+            "<meta charset=\"utf-8\">",
+            "<title>OrangeHRM Automation Test Report</title>",
+            "<style>",
+            "body { font-family: system-ui, sans-serif; margin: 24px; color: #222; }",
+            "table { border-collapse: collapse; width: 100%; }",
+            "th, td { text-align: left; padding: 4px 8px; border-bottom: 1px solid #ddd; font-size: 14px; }",
+            "tr.test { cursor: pointer; } tr.test:hover { background: #f4f6fa; }",
+            ".PASS { color: #1a7f37; } .FAIL { color: #cf222e; } .SKIP { color: #9a6700; } .WARNING { color: #bc4c00; }",
+            ".detail td { background: #fafafa; } .detail table { margin: 4px 0; }",
+            "#summary span { margin-right: 16px; } #filter { margin: 12px 0; padding: 4px; width: 320px; }",
+            "</style>",
+            "</head>",
+            "<body>",
+            "<h1>OrangeHRM Automation Test Report</h1>",
+            "<div id=\"summary\"></div>",
+            "<div id=\"system\"></div>",
+            "<input id=\"filter\" placeholder=\"Filter by name or status\">",
+            "<table><thead><tr><th>Test</th><th>Status</th><th>Started</th><th>Duration</th><th>Steps</th></tr></thead>",
+            "<tbody id=\"tests\"></tbody></table>",
+            "<button id=\"more\" style=\"display: none\"></button>",
+            "<script>",
+            "var REPORT = __REPORT_DATA__;",
+            "var pending = {};",
+            "function text(value) { var span = document.createElement('span'); span.textContent = value == null ? '' : value; return span.innerHTML; }",
+            "function __ohrmShard(id, base64) {",
+            "  var bytes = Uint8Array.from(atob(base64), function (c) { return c.charCodeAt(0); });",
+            "  new Response(new Blob([bytes]).stream().pipeThrough(new DecompressionStream('gzip'))).json()",
+            "    .then(function (test) { var done = pending[id]; delete pending[id]; if (done) { done(test); } });",
+            "}",
+            "function loadShard(id, done) {",
+            "  pending[id] = done;",
+            "  var script = document.createElement('script');",
+            "  script.src = 'shards/' + id + '.js';",
+            "  script.onload = function () { script.remove(); };",
+            "  document.head.appendChild(script);",
+            "}",
+            "function artifact(a) {",
+            "  var href = encodeURI(a.href);",
+            "  if (a.kind === 'screenshot') { return '<a href=\"' + href + '\"><img src=\"' + href + '\" style=\"max-width: 480px\"></a>'; }",
+            "  return '<a href=\"' + href + '\">Failure ' + text(a.kind) + ' (' + Math.round(a.bytes / 1024) + ' KB, gzip)</a>';",
+            "}",
+            "function toggle(row, test) {",
+            "  var next = row.nextSibling;",
+            "  if (next && next.className === 'detail') { next.remove(); return; }",
+            "  var detail = document.createElement('tr');",
+            "  detail.className = 'detail';",
+            "  detail.innerHTML = '<td colspan=\"5\">Loading...</td>';",
+            "  row.parentNode.insertBefore(detail, row.nextSibling);",
+            "  loadShard(test.id, function (shard) {",
+            "    var html = shard.description ? '<p>' + text(shard.description) + '</p>' : '';",
+            "    if (shard.unfinished) { html += '<p class=\"WARNING\">Test did not finish - report rebuilt from an interrupted run</p>'; }",
+            "    html += '<table>' + shard.logs.map(function (log) {",
+            "      return '<tr><td>' + new Date(log.ts).toLocaleTimeString() + '</td><td class=\"' + log.status + '\">' + log.status",
+            "        + '</td><td>' + (log.artifact ? artifact(log.artifact) : log.markup != null ? log.markup : text(log.details)) + '</td></tr>';",
+            "    }).join('') + '</table>';",
+            "    detail.firstChild.innerHTML = html;",
+            "  });",
+            "}",
+            // Only a page of rows goes into the DOM, so opening the report costs the same at 50 or 50,000 tests
+            "var PAGE = 500, shown = PAGE, filter = '';",
+            "function render() {",
+            "  var body = document.getElementById('tests');",
+            "  body.innerHTML = '';",
+            "  var matches = REPORT.tests.filter(function (test) {",
+            "    return !filter || (test.name + ' ' + test.status).toLowerCase().indexOf(filter) >= 0;",
+            "  });",
+            "  matches.slice(0, shown).forEach(function (test) {",
+            "    var row = document.createElement('tr');",
+            "    row.className = 'test';",
+            "    row.innerHTML = '<td>' + text(test.name) + '</td><td class=\"' + test.status + '\">' + test.status + '</td><td>'",
+            "      + new Date(test.start).toLocaleString() + '</td><td>' + test.durationMs + ' ms</td><td>' + test.steps + '</td>';",
+            "    row.onclick = function () { toggle(row, test); };",
+            "    body.appendChild(row);",
+            "  });",
+            "  var more = document.getElementById('more');",
+            "  more.style.display = matches.length > shown ? '' : 'none';",
+            "  more.textContent = 'Show more (' + (matches.length - shown) + ' hidden)';",
+            "}",
+            "document.getElementById('more').onclick = function () { shown += PAGE; render(); };",
+            "document.getElementById('summary').innerHTML = '<span>Total: ' + REPORT.tests.length + '</span>'",
+            "  + Object.keys(REPORT.totals).map(function (s) { return '<span class=\"' + s + '\">' + s + ': ' + REPORT.totals[s] + '</span>'; }).join('')",
+            "  + (REPORT.running ? '<span>Still running: ' + REPORT.running + '</span>' : '')",
+            "  + (REPORT.suite.total != null ? '<span>TestNG: ' + REPORT.suite.passed + ' passed, ' + REPORT.suite.failed + ' failed, '",
+            "    + REPORT.suite.skipped + ' skipped of ' + REPORT.suite.total + '</span>' : '');",
+            "document.getElementById('system').innerHTML = Object.keys(REPORT.system).map(function (k) {",
+            "  return '<small>' + text(k) + ': ' + text(REPORT.system[k]) + '</small>'; }).join(' | ');",
+            "document.getElementById('filter').oninput = function (e) { filter = e.target.value.toLowerCase(); shown = PAGE; render(); };",
+            "render();",
+            "</script>",
+            "</body>",
+            "</html>",
+            "");
+}
@@ -1,5 +1,6 @@
 package utils;
 
+import base.BaseTest;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 import org.testng.ITestContext;
@@ -35,10 +36,9 @@ public class TestListener implements ITestListener {
 
 
         try {
-            if (ExtentReportManager.getTest() != null) {
-                ExtentReportManager.getTest().log(Status.PASS,
-                        "Test completed successfully in " + executionTime + "ms");
-            }
+            ExtentReportManager.log(Status.PASS,
+                    "Test completed successfully in " + executionTime + "ms");
+            ExtentReportManager.endTest();
         } catch (Exception e) {
             System.err.println("Error updating ExtentReports for success: " + e.getMessage());
         }
@@ -66,12 +66,12 @@ public class TestListener implements ITestListener {
 
 
         try {
-            if (ExtentReportManager.getTest() != null) {
-                ExtentReportManager.getTest().log(Status.FAIL,
-                        "Test failed: " + errorMessage);
-                ExtentReportManager.getTest().log(Status.INFO,
-                        "Execution time: " + executionTime + "ms");
-            }
+            ExtentReportManager.log(Status.FAIL,
+                    "Test failed: " + errorMessage);
+            ExtentReportManager.log(Status.INFO,
+                    "Execution time: " + executionTime + "ms");
+            // The driver is still open here; @AfterMethod returns it to the pool right after
+            FailureArtifacts.captureAndEnd(BaseTest.getDriver(), testName, ExtentReportManager.detachTest());
         } catch (Exception e) {
             System.err.println("Error updating ExtentReports for failure: " + e.getMessage());
         }
@@ -91,10 +91,9 @@ public class TestListener implements ITestListener {
 
 
         try {
-            if (ExtentReportManager.getTest() != null) {
-                ExtentReportManager.getTest().log(Status.SKIP,
-                        "Test skipped: " + skipReason);
-            }
+            ExtentReportManager.log(Status.SKIP,
+                    "Test skipped: " + skipReason);
+            ExtentReportManager.endTest();
         } catch (Exception e) {
             System.err.println("Error updating ExtentReports for skip: " + e.getMessage());
         }
@@ -109,24 +108,16 @@ public class TestListener implements ITestListener {
         int skippedTests = context.getSkippedTests().size();
 
 
-        double passPercentage = totalTests > 0 ? (double) passedTests / totalTests * 100 : 0;
-
-
-        System.out.println("\n🏁 TEST EXECUTION COMPLETED");
-        System.out.println("----------------------------------------");
-        System.out.println("TEST SUMMARY:");
-        System.out.println("   Total Tests: " + totalTests);
-        System.out.println("   Passed: " + passedTests);
-        System.out.println("   Failed: " + failedTests);
-        System.out.println("   Skipped: " + skippedTests);
-        System.out.println("   Pass Rate: " + String.format("%.2f", passPercentage) + "%");
-        System.out.println("-----------------------------------------");
+        printSummary(totalTests, passedTests, failedTests, skippedTests);
 
 
         try {
+            FailureArtifacts.awaitCompletion();
+            ExtentReportManager.recordSummary(context.getName(), totalTests, passedTests, failedTests, skippedTests);
             ExtentReportManager.flushReports();
             System.out.println("ExtentReports generated successfully!");
-            System.out.println("Report Location: test-reports/ExtentReport.html");
+            System.out.println("Report Location: " + (ReportRenderer.isExtent()
+                    ? ReportRenderer.DEFAULT_HTML : ReportRenderer.DEFAULT_SHARDED_DIR.resolve("index.html")));
             System.out.println("Open this file in your browser to view results");
         } catch (Exception e) {
             System.err.println("Error generating ExtentReports: " + e.getMessage());
@@ -136,6 +127,23 @@ public class TestListener implements ITestListener {
         System.out.println("\nAll tests completed!\\n");
     }
 
+    // Shared with ResultMerger so merged shard totals print exactly like a single run's
+    public static void printSummary(int totalTests, int passedTests, int failedTests, int skippedTests) {
+
+        double passPercentage = totalTests > 0 ? (double) passedTests / totalTests * 100 : 0;
+
+
+        System.out.println("\n🏁 TEST EXECUTION COMPLETED");
+        System.out.println("----------------------------------------");
+        System.out.println("TEST SUMMARY:");
+        System.out.println("   Total Tests: " + totalTests);
+        System.out.println("   Passed: " + passedTests);
+        System.out.println("   Failed: " + failedTests);
+        System.out.println("   Skipped: " + skippedTests);
+        System.out.println("   Pass Rate: " + String.format("%.2f", passPercentage) + "%");
+        System.out.println("-----------------------------------------");
+    }
+
     @Override
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
 
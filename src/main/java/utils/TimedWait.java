@@ -0,0 +1,36 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+
+// WebDriverWait that reports how long each explicit wait blocked, whether it succeeded or timed out
+public class TimedWait extends WebDriverWait {
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public TimedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        long start = System.nanoTime();
+        try {
+            if (MutationWait.blocksInPage(isTrue)) {
+                // The condition blocks in the page itself, so sleeping between slices would only add latency
+                MutationWait.setDeadline(isTrue, start + timeout.toNanos());
+                return new WebDriverWait(driver, timeout, Duration.ZERO).until(isTrue);
+            }
+            return super.until(isTrue);
+        } finally {
+            CommandMetrics.recordWait(driver, System.nanoTime() - start);
+        }
+    }
+}
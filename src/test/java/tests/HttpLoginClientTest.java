@@ -0,0 +1,161 @@
+package tests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import utils.HttpLoginClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+public class HttpLoginClientTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    // Stand-in for OrangeHRM: pre-login cookie -> CSRF token issued with the login page
+    private final Map<String, String> tokensBySession = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> authenticated = new ConcurrentHashMap<>();
+
+
+    @BeforeClass
+    public void startStandInServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newFixedThreadPool(16));
+
+        server.createContext("/web/index.php/auth/login", exchange -> {
+            String session = UUID.randomUUID().toString();
+            String token = UUID.randomUUID().toString();
+            tokensBySession.put(session, token);
+            exchange.getResponseHeaders().add("Set-Cookie", "orangehrm=" + session + "; path=/web; HttpOnly");
+            respond(exchange, 200, "<auth-login :error=\"null\" :token=\"&quot;" + token + "&quot;\"></auth-login>");
+        });
+
+        server.createContext("/web/index.php/auth/validate", exchange -> {
+            String session = sessionCookie(exchange);
+            Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            boolean tokenValid = session != null && form.get("_token") != null && form.get("_token").equals(tokensBySession.get(session));
+            boolean credentialsValid = "Admin".equals(form.get("username")) && "admin123".equals(form.get("password"));
+
+            if (tokenValid && credentialsValid) {
+                String authenticatedSession = UUID.randomUUID().toString();
+                authenticated.put(authenticatedSession, true);
+                exchange.getResponseHeaders().add("Set-Cookie", "orangehrm=" + authenticatedSession + "; path=/web; HttpOnly");
+                exchange.getResponseHeaders().add("Location", "/web/index.php/dashboard/index");
+            } else {
+                exchange.getResponseHeaders().add("Location", "/web/index.php/auth/login");
+            }
+            respond(exchange, 302, "");
+        });
+
+        server.createContext("/web/index.php/dashboard/index", exchange -> {
+            String session = sessionCookie(exchange);
+            if (session != null && authenticated.containsKey(session)) {
+                respond(exchange, 200, "<h6>Dashboard</h6>");
+            } else {
+                exchange.getResponseHeaders().add("Location", "/web/index.php/auth/login");
+                respond(exchange, 302, "");
+            }
+        });
+
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStandInServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+
+    @Test(description = "HTTP login with valid credentials mints an authenticated session cookie")
+    public void testMintValidSession() {
+        List<Cookie> cookies = new HttpLoginClient(baseUrl).mint("Admin", "admin123");
+
+        Cookie session = cookies.stream().filter(c -> c.getName().equals("orangehrm")).findFirst().orElse(null);
+        Assert.assertNotNull(session, "Session cookie should be returned");
+        Assert.assertTrue(authenticated.containsKey(session.getValue()), "Returned cookie should be the authenticated session");
+        Assert.assertEquals(session.getDomain(), "127.0.0.1");
+        Assert.assertEquals(session.getPath(), "/web");
+        Assert.assertTrue(session.isHttpOnly());
+    }
+
+    @Test(description = "HTTP login with invalid credentials is rejected")
+    public void testInvalidCredentialsRejected() {
+        try {
+            new HttpLoginClient(baseUrl).mint("InvalidUser", "WrongPassword123");
+            Assert.fail("Invalid credentials should not mint a session");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("rejected"), "Unexpected failure: " + e.getMessage());
+        }
+    }
+
+    @Test(description = "Many sessions can be minted concurrently through one client")
+    public void testConcurrentMints() {
+        HttpLoginClient client = new HttpLoginClient(baseUrl);
+        List<CompletableFuture<List<Cookie>>> mints = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            mints.add(client.mintAsync("Admin", "admin123"));
+        }
+
+        long distinctSessions = mints.stream()
+                .map(CompletableFuture::join)
+                .map(cookies -> cookies.get(0).getValue())
+                .distinct()
+                .count();
+
+        Assert.assertEquals(distinctSessions, 500, "Every mint should produce its own session");
+    }
+
+
+    private static String sessionCookie(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Cookie");
+        if (header == null) {
+            return null;
+        }
+        for (String part : header.split(";\\s*")) {
+            if (part.startsWith("orangehrm=")) {
+                return part.substring("orangehrm=".length());
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2) {
+                form.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8), URLDecoder.decode(parts[1], StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
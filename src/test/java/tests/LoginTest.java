@@ -2,6 +2,7 @@ package tests;
 
 import base.BaseTest;
 import com.aventstack.extentreports.Status;
+import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import pages.DashboardPage;
@@ -14,63 +15,52 @@ public class LoginTest extends BaseTest {
     public void testValidLogin() {
 
 
-        ExtentReportManager.setTest(
-                ExtentReportManager.getInstance().createTest(
-                        "Valid Login Test",
-                        "Verify user can login with valid credentials and access dashboard"
-                )
+        ExtentReportManager.startTest(
+                "Valid Login Test",
+                "Verify user can login with valid credentials and access dashboard"
         );
 
-        ExtentReportManager.getTest().log(Status.INFO, "Starting valid login test");
-        ExtentReportManager.getTest().log(Status.INFO, "Thread: " + Thread.currentThread().getName());
+        ExtentReportManager.log(Status.INFO, "Starting valid login test");
+        ExtentReportManager.log(Status.INFO, "Thread: " + Thread.currentThread().getName());
 
         try {
 
+            WebDriver driver = getDriver();
             if (driver == null) {
                 throw new RuntimeException("WebDriver is null - setup may have failed");
             }
 
 
             LoginPage loginPage = new LoginPage(driver);
-            ExtentReportManager.getTest().log(Status.PASS, "Login page loaded successfully");
+            ExtentReportManager.log(Status.PASS, "Login page loaded successfully");
 
 
             String username = "Admin";
             String password = "admin123";
 
-            ExtentReportManager.getTest().log(Status.INFO, "Attempting login with credentials: " + username);
-            loginPage.login(username, password);
-            ExtentReportManager.getTest().log(Status.PASS, "Login credentials submitted successfully");
-
-
-            loginPage.waitForLoginResult();
-            ExtentReportManager.getTest().log(Status.INFO, "Waiting for login to process...");
-
-
-            Thread.sleep(3000);
-
-
-            DashboardPage dashboardPage = new DashboardPage(driver);
+            ExtentReportManager.log(Status.INFO, "Attempting login with credentials: " + username);
+            DashboardPage dashboardPage = loginPage.loginAs(username, password);
+            ExtentReportManager.log(Status.PASS, "Login credentials submitted successfully");
 
             boolean isDashboardDisplayed = dashboardPage.isDashboardDisplayed();
 
             if (isDashboardDisplayed) {
                 String dashboardTitle = dashboardPage.getDashboardTitle();
-                ExtentReportManager.getTest().log(Status.PASS,
+                ExtentReportManager.log(Status.PASS,
                         "LOGIN SUCCESSFUL - Dashboard displayed with title: " + dashboardTitle);
 
 
                 boolean isUserLoggedIn = dashboardPage.isUserLoggedIn();
-                ExtentReportManager.getTest().log(Status.INFO, "User logged in status: " + isUserLoggedIn);
+                ExtentReportManager.log(Status.INFO, "User logged in status: " + isUserLoggedIn);
 
             } else {
 
                 String errorMsg = loginPage.getErrorMessage();
                 if (!errorMsg.isEmpty()) {
-                    ExtentReportManager.getTest().log(Status.FAIL,
+                    ExtentReportManager.log(Status.FAIL,
                             "LOGIN FAILED - Error message: " + errorMsg);
                 } else {
-                    ExtentReportManager.getTest().log(Status.FAIL,
+                    ExtentReportManager.log(Status.FAIL,
                             "LOGIN FAILED - Dashboard not displayed and no error message found");
                 }
             }
@@ -80,7 +70,7 @@ public class LoginTest extends BaseTest {
                     "Dashboard should be displayed after successful login. Check if credentials are correct or if there are network issues.");
 
         } catch (Exception e) {
-            ExtentReportManager.getTest().log(Status.FAIL,
+            ExtentReportManager.log(Status.FAIL,
                     "Test failed due to exception: " + e.getMessage());
 
 
@@ -96,17 +86,16 @@ public class LoginTest extends BaseTest {
     @Test(priority = 2, description = "Test login functionality with invalid credentials")
     public void testInvalidLogin() {
 
-        ExtentReportManager.setTest(
-                ExtentReportManager.getInstance().createTest(
-                        "Invalid Login Test",
-                        "Verify login fails with invalid credentials and shows error message"
-                )
+        ExtentReportManager.startTest(
+                "Invalid Login Test",
+                "Verify login fails with invalid credentials and shows error message"
         );
 
-        ExtentReportManager.getTest().log(Status.INFO, "Starting invalid login test");
+        ExtentReportManager.log(Status.INFO, "Starting invalid login test");
 
         try {
 
+            WebDriver driver = getDriver();
             if (driver == null) {
                 throw new RuntimeException("WebDriver is null - setup may have failed");
             }
@@ -117,27 +106,21 @@ public class LoginTest extends BaseTest {
             String invalidUsername = "InvalidUser";
             String invalidPassword = "WrongPassword123";
 
-            ExtentReportManager.getTest().log(Status.INFO,
+            ExtentReportManager.log(Status.INFO,
                     "Attempting login with invalid credentials: " + invalidUsername);
 
-            loginPage.login(invalidUsername, invalidPassword);
-            ExtentReportManager.getTest().log(Status.PASS, "Invalid credentials submitted");
-
-
-            loginPage.waitForLoginResult();
-
-
-            Thread.sleep(2000);
+            loginPage.loginExpectingError(invalidUsername, invalidPassword);
+            ExtentReportManager.log(Status.PASS, "Invalid credentials submitted");
 
 
             String errorMessage = loginPage.getErrorMessage();
             boolean hasErrorMessage = !errorMessage.isEmpty();
 
             if (hasErrorMessage) {
-                ExtentReportManager.getTest().log(Status.PASS,
+                ExtentReportManager.log(Status.PASS,
                         "Error message displayed correctly: " + errorMessage);
             } else {
-                ExtentReportManager.getTest().log(Status.FAIL,
+                ExtentReportManager.log(Status.FAIL,
                         "No error message displayed for invalid login");
             }
 
@@ -145,10 +128,10 @@ public class LoginTest extends BaseTest {
             boolean isOnLoginPage = loginPage.isLoginPageDisplayed();
 
             if (isOnLoginPage) {
-                ExtentReportManager.getTest().log(Status.PASS,
+                ExtentReportManager.log(Status.PASS,
                         "User correctly remained on login page");
             } else {
-                ExtentReportManager.getTest().log(Status.FAIL,
+                ExtentReportManager.log(Status.FAIL,
                         "User unexpectedly navigated away from login page");
             }
 
@@ -156,7 +139,7 @@ public class LoginTest extends BaseTest {
             boolean testPassed = hasErrorMessage || isOnLoginPage;
 
             if (testPassed) {
-                ExtentReportManager.getTest().log(Status.PASS,
+                ExtentReportManager.log(Status.PASS,
                         "Invalid login test passed - Either error shown or remained on login page");
             }
 
@@ -164,7 +147,7 @@ public class LoginTest extends BaseTest {
                     "For invalid login, either error message should be displayed OR user should remain on login page");
 
         } catch (Exception e) {
-            ExtentReportManager.getTest().log(Status.FAIL,
+            ExtentReportManager.log(Status.FAIL,
                     "Test failed due to exception: " + e.getMessage());
             e.printStackTrace();
             Assert.fail("Invalid login test failed: " + e.getMessage(), e);
@@ -174,49 +157,45 @@ public class LoginTest extends BaseTest {
     @Test(priority = 3, description = "Test login behavior with empty credential fields")
     public void testEmptyFields() {
 
-        ExtentReportManager.setTest(
-                ExtentReportManager.getInstance().createTest(
-                        "Empty Fields Test",
-                        "Verify login is prevented when credential fields are empty"
-                )
+        ExtentReportManager.startTest(
+                "Empty Fields Test",
+                "Verify login is prevented when credential fields are empty"
         );
 
-        ExtentReportManager.getTest().log(Status.INFO, "Starting empty fields test");
+        ExtentReportManager.log(Status.INFO, "Starting empty fields test");
 
         try {
 
+            WebDriver driver = getDriver();
             if (driver == null) {
                 throw new RuntimeException("WebDriver is null - setup may have failed");
             }
 
             LoginPage loginPage = new LoginPage(driver);
 
-            ExtentReportManager.getTest().log(Status.INFO,
+            ExtentReportManager.log(Status.INFO,
                     "Attempting to login with empty username and password fields");
 
 
             loginPage.clickLoginButton();
 
 
-            Thread.sleep(2000);
-
-
             boolean isLoginPageDisplayed = loginPage.isLoginPageDisplayed();
 
             if (isLoginPageDisplayed) {
-                ExtentReportManager.getTest().log(Status.PASS,
+                ExtentReportManager.log(Status.PASS,
                         "Form validation working correctly - User remained on login page");
-                ExtentReportManager.getTest().log(Status.PASS,
+                ExtentReportManager.log(Status.PASS,
                         "Security check passed - No unauthorized access with empty fields");
             } else {
-                ExtentReportManager.getTest().log(Status.FAIL,
+                ExtentReportManager.log(Status.FAIL,
                         "SECURITY ISSUE - User was able to proceed with empty credentials");
             }
 
 
             String errorMessage = loginPage.getErrorMessage();
             if (!errorMessage.isEmpty()) {
-                ExtentReportManager.getTest().log(Status.INFO,
+                ExtentReportManager.log(Status.INFO,
                         "Validation message displayed: " + errorMessage);
             }
 
@@ -224,10 +203,63 @@ public class LoginTest extends BaseTest {
                     "User should remain on login page when credential fields are empty");
 
         } catch (Exception e) {
-            ExtentReportManager.getTest().log(Status.FAIL,
+            ExtentReportManager.log(Status.FAIL,
                     "Test failed due to exception: " + e.getMessage());
             e.printStackTrace();
             Assert.fail("Empty fields test failed: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    @Test(priority = 4, description = "Test dashboard access through a fresh session and logout afterwards")
+    public void testFreshSessionLogout() {
+
+        ExtentReportManager.startTest(
+                "Fresh Session Logout Test",
+                "Verify a freshly minted session opens the dashboard and logout returns to the login page"
+        );
+
+        ExtentReportManager.log(Status.INFO, "Starting fresh session logout test");
+
+        try {
+
+            // Not the cached Admin session: logging that out would end it for every worker restoring the snapshot
+            DashboardPage dashboardPage = openFreshDashboardAs("Admin", "admin123");
+            ExtentReportManager.log(Status.PASS, "Fresh session opened for: Admin");
+
+
+            boolean isDashboardDisplayed = dashboardPage.isDashboardDisplayed();
+
+            if (isDashboardDisplayed) {
+                ExtentReportManager.log(Status.PASS,
+                        "Dashboard displayed from session with title: " + dashboardPage.getDashboardTitle());
+            } else {
+                ExtentReportManager.log(Status.FAIL,
+                        "Dashboard not displayed after opening the session");
+            }
+
+            Assert.assertTrue(isDashboardDisplayed,
+                    "Dashboard should be displayed after opening a fresh session");
+
+
+            LoginPage loginPage = dashboardPage.logout();
+            boolean isLoginPageDisplayed = loginPage.isLoginPageDisplayed();
+
+            if (isLoginPageDisplayed) {
+                ExtentReportManager.log(Status.PASS,
+                        "Logout returned to the login page");
+            } else {
+                ExtentReportManager.log(Status.FAIL,
+                        "Login page not displayed after logout");
+            }
+
+            Assert.assertTrue(isLoginPageDisplayed,
+                    "User should be on the login page after logout");
+
+        } catch (Exception e) {
+            ExtentReportManager.log(Status.FAIL,
+                    "Test failed due to exception: " + e.getMessage());
+            e.printStackTrace();
+            Assert.fail("Fresh session logout test failed: " + e.getMessage(), e);
+        }
+    }
+}